@@ -0,0 +1,184 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load generator for the storage profile numbers in the README. Against a freshly started
+ * application it imports 2,000 patients and 50 doctors, adds 40 slots per doctor for one
+ * date, then runs a browse phase of random GETs (a doctor's free slots, a doctor or a
+ * patient) for the given number of seconds, and a booking phase that books every slot once,
+ * each for a different patient. Every request comes from one address, so the application
+ * needs its per-address admission limit lifted. Uses only the JDK; run it with load.sh.
+ */
+public class LoadBench {
+
+    private static final String BASE = System.getProperty("base", "http://localhost:8080");
+    private static final int THREADS = 16;
+    private static final int PATIENTS = 2_000;
+    private static final int DOCTORS = 50;
+    private static final int SLOTS_PER_DOCTOR = 40;
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private static final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    public static void main(String[] args) throws Exception {
+        int browseSeconds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        String date = LocalDate.now().plusDays(2).toString();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        StringBuilder patientsCsv = new StringBuilder("name,email,phone\n");
+        for (int i = 0; i < PATIENTS; i++) {
+            patientsCsv.append("P").append(i).append(",bench").append(i).append("@example.com,").append(3_000_000_000L + i).append('\n');
+        }
+        send(post("/api/patients/import", "text/csv", patientsCsv.toString()));
+        StringBuilder doctorsNdjson = new StringBuilder();
+        for (int i = 0; i < DOCTORS; i++) {
+            doctorsNdjson.append("{\"name\":\"Dr B").append(i).append("\",\"specialization\":\"Spec").append(i % 5).append("\"}\n");
+        }
+        send(post("/api/doctors/import", "application/x-ndjson", doctorsNdjson.toString()));
+        List<Long> doctorIds = ids(get("/api/doctors"), "\"id\":(\\d+),\"name\":\"Dr B");
+        List<Long> patientIds = ids(get("/api/patients"), "\"id\":(\\d+),\"name\":\"P\\d+\"");
+
+        // Each entry is {availabilityId, doctorId}
+        List<long[]> slots = Collections.synchronizedList(new ArrayList<>());
+        List<Callable<Void>> slotTasks = new ArrayList<>();
+        for (long doctorId : doctorIds) {
+            slotTasks.add(() -> {
+                for (int s = 0; s < SLOTS_PER_DOCTOR; s++) {
+                    int start = 6 * 60 + s * 10;
+                    String body = "{\"date\":\"" + date + "\",\"startTime\":\"" + time(start) + "\",\"endTime\":\"" + time(start + 10) + "\"}";
+                    Matcher id = ID.matcher(send(post("/api/doctors/" + doctorId + "/availability", "application/json", body)).body());
+                    if (id.find()) {
+                        slots.add(new long[] {Long.parseLong(id.group(1)), doctorId});
+                    }
+                }
+                return null;
+            });
+        }
+        runAll(pool, slotTasks);
+        System.out.printf("setup: %d doctors, %d patients, %d slots%n", doctorIds.size(), patientIds.size(), slots.size());
+
+        AtomicLong ok = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        Collection<Long> latencies = new ConcurrentLinkedQueue<>();
+        long browseEnd = System.nanoTime() + browseSeconds * 1_000_000_000L;
+        List<Callable<Void>> browsers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            browsers.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < browseEnd) {
+                    long doctorId = doctorIds.get(random.nextInt(doctorIds.size()));
+                    String path = switch (random.nextInt(3)) {
+                        case 0 -> "/api/availability/doctor/" + doctorId + "/available/" + date;
+                        case 1 -> "/api/doctors/" + doctorId;
+                        default -> "/api/patients/" + patientIds.get(random.nextInt(patientIds.size()));
+                    };
+                    long start = System.nanoTime();
+                    try {
+                        (send(HttpRequest.newBuilder(URI.create(BASE + path)).build()).statusCode() == 200 ? ok : failed).incrementAndGet();
+                    } catch (Exception ex) {
+                        failed.incrementAndGet();
+                    }
+                    latencies.add(System.nanoTime() - start);
+                }
+                return null;
+            });
+        }
+        runAll(pool, browsers);
+        report("browse", ok.get(), failed.get(), browseSeconds * 1e9, latencies);
+
+        ok.set(0);
+        failed.set(0);
+        latencies.clear();
+        Map<String, Integer> failures = new ConcurrentHashMap<>();
+        AtomicInteger next = new AtomicInteger();
+        int bookings = Math.min(slots.size(), patientIds.size());
+        List<Callable<Void>> bookers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            bookers.add(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < bookings) {
+                    long[] slot = slots.get(i);
+                    String body = "{\"patientId\":" + patientIds.get(i) + ",\"doctorId\":" + slot[1]
+                            + ",\"availabilityId\":" + slot[0] + ",\"date\":\"" + date + "\"}";
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = send(post("/api/appointments", "application/json", body));
+                        if (response.statusCode() == 201) {
+                            ok.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                            failures.merge(response.statusCode() + " " + response.body().replaceAll(".*\"message\":\"([^\"]{0,80}).*", "$1"), 1, Integer::sum);
+                        }
+                    } catch (Exception ex) {
+                        failed.incrementAndGet();
+                    }
+                    latencies.add(System.nanoTime() - start);
+                }
+                return null;
+            });
+        }
+        long bookingStart = System.nanoTime();
+        runAll(pool, bookers);
+        report("booking", ok.get(), failed.get(), System.nanoTime() - bookingStart, latencies);
+        failures.forEach((failure, count) -> System.out.println("  " + count + " x " + failure));
+        pool.shutdown();
+    }
+
+    private static void runAll(ExecutorService pool, List<Callable<Void>> tasks) throws Exception {
+        for (var future : pool.invokeAll(tasks)) {
+            future.get();
+        }
+    }
+
+    private static void report(String phase, long ok, long failed, double nanos, Collection<Long> latencies) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%s: ok=%d failed=%d throughput=%.0f req/s p50=%.1fms p99=%.1fms%n", phase, ok, failed,
+                ok / (nanos / 1e9), sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6);
+    }
+
+    private static List<Long> ids(String body, String regex) {
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = Pattern.compile(regex).matcher(body);
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    private static String time(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+
+    private static String get(String path) throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(BASE + path)).build()).body();
+    }
+
+    private static HttpRequest post(String path, String contentType, String body) {
+        return HttpRequest.newBuilder(URI.create(BASE + path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpResponse<String> send(HttpRequest request) throws Exception {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,7 @@
+#!/bin/bash
+# Runs the JMH BinaryFormatsBenchmark: encode/decode cost and encoded size of list responses
+# of AppointmentDTO, AvailabilityDTO, DoctorDTO and PatientDTO as JSON, CBOR and Smile. Extra
+# arguments go to JMH, for example -p dto=appointment. Run from the project directory.
+set -e
+mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile=target/bench.classpath -Dmdep.includeScope=test
+java -cp "target/test-classes:target/classes:$(cat target/bench.classpath)" org.openjdk.jmh.Main BinaryFormatsBenchmark "$@"
@@ -0,0 +1,19 @@
+#!/bin/bash
+# Builds the application, starts it with the given arguments, a throwaway storage directory
+# and the per-address admission limit lifted, runs LoadBench against it and stops it.
+# Run from the project directory:
+#   bench/load.sh                                   # default profile
+#   bench/load.sh --spring.profiles.active=prod     # file-backed storage
+# BROWSE_SECONDS (default 20) sets the length of the browse phase.
+set -e
+mvn -B -q package -DskipTests
+data_dir=$(mktemp -d)
+java -jar target/booking-system-1.0.0.jar --storage.data-dir="$data_dir" \
+    --admission.client.per-minute=1000000 --admission.client.burst=100000 "$@" > target/bench-app.log 2>&1 &
+app=$!
+trap 'kill $app; wait $app 2>/dev/null; rm -rf "$data_dir"' EXIT
+for i in $(seq 1 90); do
+    curl -s -o /dev/null http://localhost:8080/api/doctors && break
+    sleep 1
+done
+java bench/LoadBench.java "${BROWSE_SECONDS:-20}"
@@ -0,0 +1,39 @@
+#!/bin/bash
+# Compares the default and side-loaded (?view=normalized) appointment list formats.
+# Needs an application started fresh on BASE (default http://localhost:8080) with room for
+# ten bookings per patient and 180 from one address, for example:
+#   mvn spring-boot:run -Dspring-boot.run.arguments="--admission.patient.burst=10 --admission.client.burst=200"
+# Seeds one doctor with 180 booked appointments across 18 patients, then prints the payload
+# size of each format and the mean curl latency over REQUESTS (default 200) requests.
+BASE=${BASE:-http://localhost:8080}
+REQUESTS=${REQUESTS:-200}
+JSON='Content-Type: application/json'
+
+post() {
+    curl -s -H "$JSON" "${@:3}" -d "$2" "$BASE$1"
+}
+
+id() {
+    sed -n 's/.*"data":{"id":\([0-9]*\).*/\1/p'
+}
+
+doctor=$(post /api/doctors '{"name":"Dr. Payload","specialization":"Cardiology"}' | id)
+patients=()
+for i in $(seq 0 17); do
+    patients+=($(post /api/patients "{\"name\":\"Patient $i\",\"email\":\"payload$i@example.com\",\"phone\":\"55500000$(printf %02d $i)\"}" | id))
+done
+for i in $(seq 0 179); do
+    date=$(date -d "+$((1 + i / 10)) days" +%F)
+    start=$(printf %02d:00 $((8 + i % 10)))
+    end=$(printf %02d:30 $((8 + i % 10)))
+    slot=$(post /api/doctors/$doctor/availability "{\"date\":\"$date\",\"startTime\":\"$start\",\"endTime\":\"$end\"}" | id)
+    post /api/appointments "{\"patientId\":${patients[$((i % 18))]},\"doctorId\":$doctor,\"availabilityId\":$slot,\"date\":\"$date\"}" > /dev/null
+done
+
+for query in "" "?view=normalized"; do
+    url="$BASE/api/appointments/doctor/$doctor$query"
+    bytes=$(curl -s -o /dev/null -w '%{size_download}' "$url")
+    mean=$(for i in $(seq 1 "$REQUESTS"); do curl -s -o /dev/null -w '%{time_total}\n' "$url"; done \
+        | awk '{ total += $1 } END { printf "%.1f", total * 1000 / NR }')
+    printf '%-18s %7d bytes  mean %s ms\n' "${query:-default}" "$bytes" "$mean"
+done
@@ -0,0 +1,7 @@
+#!/bin/bash
+# Runs the JMH SerializationBenchmark: Jackson encode/decode cost of the appointment list
+# response and the booking request, with and without each module in JacksonConfig. Extra
+# arguments go to JMH, for example -p modules=stock,iso-time. Run from the project directory.
+set -e
+mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile=target/bench.classpath -Dmdep.includeScope=test
+java -cp "target/test-classes:target/classes:$(cat target/bench.classpath)" org.openjdk.jmh.Main SerializationBenchmark "$@"
@@ -0,0 +1,65 @@
+package com.appointment.booking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String EVENT_EXECUTOR = "eventExecutor";
+    public static final String REFRESH_EXECUTOR = "refreshExecutor";
+    public static final String IMPORT_EXECUTOR = "importExecutor";
+
+    @Bean(name = EVENT_EXECUTOR)
+    public Executor eventExecutor(@Value("${events.executor.pool-size:2}") int poolSize,
+                                  @Value("${events.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("event-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Background revalidation is best effort. A full queue rejects the task, so the caller can
+    // clear its in-flight mark and the next stale read asks again
+    @Bean(name = REFRESH_EXECUTOR)
+    public Executor refreshExecutor(@Value("${stale-serving.refresh-threads:1}") int poolSize,
+                                    @Value("${stale-serving.refresh-queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("refresh-");
+        executor.setTaskDecorator(task -> () -> {
+            LaneRoutingDataSource.bind(LaneRoutingDataSource.Lane.READ);
+            try {
+                task.run();
+            } finally {
+                LaneRoutingDataSource.unbind();
+            }
+        });
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // No queue: an upload is not worth holding open while it waits for a free importer
+    @Bean(name = IMPORT_EXECUTOR)
+    public Executor importExecutor(@Value("${bulk-import.max-concurrent:2}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("import-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,56 @@
+package com.appointment.booking.config;
+
+import com.appointment.booking.util.Bulkhead;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits API traffic into a write lane (bookings, cancellations and other mutations) and a
+ * read lane (browsing). Each lane has its own concurrency limit and bounded wait queue,
+ * and its own connection pool (see {@link DataSourceConfig}). Active plus waiting requests of both lanes should stay below the
+ * servlet container's worker count so neither lane can occupy every worker thread.
+ */
+@Configuration
+public class BulkheadConfig implements WebMvcConfigurer {
+
+    private final Bulkhead writeBulkhead;
+    private final Bulkhead readBulkhead;
+
+    public BulkheadConfig(MeterRegistry meterRegistry,
+                          @Value("${bulkhead.write.max-concurrent:20}") int writeConcurrent,
+                          @Value("${bulkhead.write.max-waiting:30}") int writeWaiting,
+                          @Value("${bulkhead.write.max-wait-ms:2000}") long writeWaitMillis,
+                          @Value("${bulkhead.read.max-concurrent:40}") int readConcurrent,
+                          @Value("${bulkhead.read.max-waiting:60}") int readWaiting,
+                          @Value("${bulkhead.read.max-wait-ms:500}") long readWaitMillis) {
+        this.writeBulkhead = register(new Bulkhead("write", writeConcurrent, writeWaiting, writeWaitMillis, TimeUnit.MILLISECONDS), meterRegistry);
+        this.readBulkhead = register(new Bulkhead("read", readConcurrent, readWaiting, readWaitMillis, TimeUnit.MILLISECONDS), meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new BulkheadInterceptor(writeBulkhead, readBulkhead)).addPathPatterns("/api/**");
+    }
+
+    private static Bulkhead register(Bulkhead bulkhead, MeterRegistry meterRegistry) {
+        Gauge.builder("bulkhead.active", bulkhead, Bulkhead::activeCount)
+                .description("Requests currently running in the lane")
+                .tag("lane", bulkhead.getName())
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.waiting", bulkhead, Bulkhead::waitingCount)
+                .description("Requests waiting for a slot in the lane")
+                .tag("lane", bulkhead.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("bulkhead.rejected", bulkhead, Bulkhead::rejectedCount)
+                .description("Requests turned away because the lane was full")
+                .tag("lane", bulkhead.getName())
+                .register(meterRegistry);
+        return bulkhead;
+    }
+}
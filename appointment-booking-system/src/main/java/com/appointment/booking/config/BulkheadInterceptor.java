@@ -0,0 +1,68 @@
+package com.appointment.booking.config;
+
+import com.appointment.booking.exception.ServiceUnavailableException;
+import com.appointment.booking.util.Bulkhead;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Admits each API request into its lane's bulkhead and binds the lane's connection pool
+ * for the rest of the request. Safe methods run in the read lane, everything else in the
+ * write lane.
+ */
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".permit";
+
+    private final Bulkhead writeBulkhead;
+    private final Bulkhead readBulkhead;
+
+    public BulkheadInterceptor(Bulkhead writeBulkhead, Bulkhead readBulkhead) {
+        this.writeBulkhead = writeBulkhead;
+        this.readBulkhead = readBulkhead;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        LaneRoutingDataSource.Lane lane = laneOf(request);
+        Bulkhead bulkhead = lane == LaneRoutingDataSource.Lane.READ ? readBulkhead : writeBulkhead;
+        if (!bulkhead.tryEnter()) {
+            throw new ServiceUnavailableException("Too many concurrent " + bulkhead.getName() + " requests, please retry shortly");
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, bulkhead);
+        LaneRoutingDataSource.bind(lane);
+        return true;
+    }
+
+    // Streaming responses leave the worker thread here; the permit guards the worker, not the stream
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        LaneRoutingDataSource.unbind();
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof Bulkhead bulkhead) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            bulkhead.release();
+        }
+    }
+
+    private static LaneRoutingDataSource.Lane laneOf(HttpServletRequest request) {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        return method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS
+                ? LaneRoutingDataSource.Lane.READ
+                : LaneRoutingDataSource.Lane.WRITE;
+    }
+}
@@ -0,0 +1,82 @@
+package com.appointment.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Builds the connection pools: one per bulkhead lane against the primary database and
+ * one per configured read replica. The application sees them through a lazy proxy over
+ * {@link LaneRoutingDataSource}, so each transaction is routed once its read-only flag
+ * is known. Standard spring.datasource.hikari.* settings apply to every pool; only the
+ * pool name and size are set per pool.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public ReplicaSet replicaSet(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                 @Value("${datasource.replicas.urls:}") String[] replicaUrls,
+                                 @Value("${datasource.replicas.pool-size:6}") int replicaPoolSize,
+                                 @Value("${datasource.replicas.connection-timeout-ms:1000}") long replicaTimeoutMillis) {
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        List<String> urls = Arrays.stream(replicaUrls).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = pool(properties, environment, meterRegistry, "replica-" + (i + 1), replicaPoolSize);
+            replica.setJdbcUrl(urls.get(i));
+            replica.setReadOnly(true);
+            replica.setConnectionTimeout(replicaTimeoutMillis);
+            // Let the application start while a replica is down; health checks keep it out of rotation
+            replica.setInitializationFailTimeout(-1);
+            replicaPools.add(replica);
+        }
+        ReplicaSet replicas = new ReplicaSet(replicaPools);
+        Gauge.builder("datasource.replicas.healthy", replicas, ReplicaSet::healthyCount)
+                .description("Read replicas currently in rotation")
+                .register(meterRegistry);
+        replicas.checkHealth();
+        return replicas;
+    }
+
+    @Bean
+    public LaneRoutingDataSource laneRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                       MeterRegistry meterRegistry,
+                                                       ReplicaSet replicaSet,
+                                                       @Value("${bulkhead.write.pool-size:6}") int writePoolSize,
+                                                       @Value("${bulkhead.read.pool-size:6}") int readPoolSize) {
+        return new LaneRoutingDataSource(
+                pool(properties, environment, meterRegistry, "write", writePoolSize),
+                pool(properties, environment, meterRegistry, "read", readPoolSize),
+                replicaSet);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(LaneRoutingDataSource laneRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(laneRoutingDataSource);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                         MeterRegistry meterRegistry, String name, int size) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(size);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
@@ -0,0 +1,51 @@
+package com.appointment.booking.config;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports whether the read lane's JDBC pool is saturated, judged by the number of threads
+ * waiting for a connection. Once tripped the overloaded state is held for a short period so
+ * callers don't flap between degraded and normal behaviour on every request.
+ */
+@Component
+public class DatabaseLoadMonitor {
+
+    private final LaneRoutingDataSource dataSource;
+    private final int pendingThreshold;
+    private final long holdNanos;
+    private volatile long overloadedUntil = System.nanoTime();
+
+    @Autowired
+    public DatabaseLoadMonitor(LaneRoutingDataSource dataSource,
+                               MeterRegistry meterRegistry,
+                               @Value("${stale-serving.pending-threshold:2}") int pendingThreshold,
+                               @Value("${stale-serving.hold-ms:5000}") long holdMillis) {
+        this.dataSource = dataSource;
+        this.pendingThreshold = pendingThreshold;
+        this.holdNanos = TimeUnit.MILLISECONDS.toNanos(holdMillis);
+        Gauge.builder("db.pool.overloaded", this, monitor -> monitor.isOverloaded() ? 1 : 0)
+                .description("Whether the connection pool is currently treated as saturated")
+                .register(meterRegistry);
+    }
+
+    public boolean isOverloaded() {
+        long now = System.nanoTime();
+        if (pendingConnections() >= pendingThreshold) {
+            overloadedUntil = now + holdNanos;
+            return true;
+        }
+        return overloadedUntil - now > 0;
+    }
+
+    public int pendingConnections() {
+        // The pool bean only exists once the first connection has been requested
+        HikariPoolMXBean pool = dataSource.pool(LaneRoutingDataSource.Lane.READ).getHikariPoolMXBean();
+        return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+    }
+}
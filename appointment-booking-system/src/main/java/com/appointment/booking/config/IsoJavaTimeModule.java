@@ -0,0 +1,231 @@
+package com.appointment.booking.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes LocalDate, LocalTime and LocalDateTime strings digit by digit instead of through
+ * DateTimeFormatter, which is about half the cost of encoding an appointment list. Only the
+ * layouts the DTOs use are hand-written: the ISO defaults, yyyy-MM-dd, HH:mm, HH:mm:ss and
+ * yyyy-MM-dd HH:mm:ss, for years 1 to 9999. Any other pattern, a zone override, timestamp
+ * output or an out-of-range year falls through to the jsr310 serializer these extend, which
+ * also keeps handling @JsonFormat resolution.
+ */
+public class IsoJavaTimeModule extends SimpleModule {
+
+    enum Layout {
+        DATE(10), MINUTES(5), SECONDS(8), ISO_TIME(18), ISO_DATE_TIME(29), DATE_SPACE_SECONDS(19);
+
+        private final int maxLength;
+
+        Layout(int maxLength) {
+            this.maxLength = maxLength;
+        }
+    }
+
+    // Matched on toString(), which spells out the fields, widths and literals of a formatter
+    private static final Map<String, Layout> LAYOUTS = Map.of(
+            DateTimeFormatter.ISO_LOCAL_DATE.toString(), Layout.DATE,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd").toString(), Layout.DATE,
+            DateTimeFormatter.ofPattern("HH:mm").toString(), Layout.MINUTES,
+            DateTimeFormatter.ofPattern("HH:mm:ss").toString(), Layout.SECONDS,
+            DateTimeFormatter.ISO_LOCAL_TIME.toString(), Layout.ISO_TIME,
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.toString(), Layout.ISO_DATE_TIME,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").toString(), Layout.DATE_SPACE_SECONDS);
+
+    private static final Set<Layout> DATE_LAYOUTS = EnumSet.of(Layout.DATE);
+    private static final Set<Layout> TIME_LAYOUTS = EnumSet.of(Layout.MINUTES, Layout.SECONDS, Layout.ISO_TIME);
+    private static final Set<Layout> DATE_TIME_LAYOUTS = EnumSet.of(Layout.ISO_DATE_TIME, Layout.DATE_SPACE_SECONDS);
+
+    public IsoJavaTimeModule() {
+        super("IsoJavaTimeModule");
+        addSerializer(LocalDate.class, new FastLocalDateSerializer(null));
+        addSerializer(LocalTime.class, new FastLocalTimeSerializer());
+        addSerializer(LocalDateTime.class, new FastLocalDateTimeSerializer());
+    }
+
+    /**
+     * The hand-written layout a serializer of one type uses for the formatter, the type's
+     * ISO default when there is no formatter, or null when it has to fall through.
+     */
+    static Layout layoutOf(DateTimeFormatter formatter, Layout isoDefault, Set<Layout> supported) {
+        if (formatter == null) {
+            return isoDefault;
+        }
+        if (formatter.getZone() != null) {
+            return null;
+        }
+        Layout layout = LAYOUTS.get(formatter.toString());
+        return supported.contains(layout) ? layout : null;
+    }
+
+    /**
+     * Formats the value in the layout, or returns -1 when it cannot be hand-written.
+     */
+    static int format(Layout layout, LocalDate date, LocalTime time, char[] buffer) {
+        int length = 0;
+        if (date != null) {
+            int year = date.getYear();
+            if (year < 1 || year > 9999) {
+                return -1;
+            }
+            length = digits(buffer, length, year / 100);
+            length = digits(buffer, length, year % 100);
+            buffer[length++] = '-';
+            length = digits(buffer, length, date.getMonthValue());
+            buffer[length++] = '-';
+            length = digits(buffer, length, date.getDayOfMonth());
+            if (time == null) {
+                return length;
+            }
+            buffer[length++] = layout == Layout.ISO_DATE_TIME ? 'T' : ' ';
+        }
+        length = digits(buffer, length, time.getHour());
+        buffer[length++] = ':';
+        length = digits(buffer, length, time.getMinute());
+        if (layout == Layout.MINUTES) {
+            return length;
+        }
+        buffer[length++] = ':';
+        length = digits(buffer, length, time.getSecond());
+        int nano = time.getNano();
+        if (nano == 0 || (layout != Layout.ISO_TIME && layout != Layout.ISO_DATE_TIME)) {
+            return length;
+        }
+        // As appendFraction(NANO_OF_SECOND, 0, 9, true): nine digits, trailing zeros dropped
+        buffer[length++] = '.';
+        int divisor = 100_000_000;
+        while (nano > 0) {
+            buffer[length++] = (char) ('0' + nano / divisor);
+            nano %= divisor;
+            divisor /= 10;
+        }
+        return length;
+    }
+
+    private static int digits(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+        return offset + 2;
+    }
+
+    private static boolean writeFast(Layout layout, LocalDate date, LocalTime time, JsonGenerator generator) throws IOException {
+        if (layout == null) {
+            return false;
+        }
+        char[] buffer = new char[layout.maxLength];
+        int length = format(layout, date, time, buffer);
+        if (length < 0) {
+            return false;
+        }
+        generator.writeString(buffer, 0, length);
+        return true;
+    }
+
+    static class FastLocalDateSerializer extends LocalDateSerializer {
+
+        private final Layout layout;
+
+        FastLocalDateSerializer(DateTimeFormatter formatter) {
+            super(formatter);
+            this.layout = layoutOf(formatter, Layout.DATE, DATE_LAYOUTS);
+        }
+
+        private FastLocalDateSerializer(FastLocalDateSerializer base, Boolean useTimestamp,
+                                        DateTimeFormatter formatter, JsonFormat.Shape shape) {
+            super(base, useTimestamp, formatter, shape);
+            this.layout = layoutOf(formatter, Layout.DATE, DATE_LAYOUTS);
+        }
+
+        @Override
+        protected LocalDateSerializer withFormat(Boolean useTimestamp, DateTimeFormatter formatter, JsonFormat.Shape shape) {
+            return new FastLocalDateSerializer(this, useTimestamp, formatter, shape);
+        }
+
+        @Override
+        public void serialize(LocalDate value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (useTimestamp(provider) || !writeFast(layout, value, null, generator)) {
+                super.serialize(value, generator, provider);
+            }
+        }
+    }
+
+    static class FastLocalTimeSerializer extends LocalTimeSerializer {
+
+        private final Layout layout;
+
+        FastLocalTimeSerializer() {
+            super();
+            this.layout = Layout.ISO_TIME;
+        }
+
+        private FastLocalTimeSerializer(FastLocalTimeSerializer base, Boolean useTimestamp,
+                                        Boolean useNanoseconds, DateTimeFormatter formatter) {
+            super(base, useTimestamp, useNanoseconds, formatter);
+            this.layout = layoutOf(formatter, Layout.ISO_TIME, TIME_LAYOUTS);
+        }
+
+        @Override
+        protected LocalTimeSerializer withFormat(Boolean useTimestamp, DateTimeFormatter formatter, JsonFormat.Shape shape) {
+            return new FastLocalTimeSerializer(this, useTimestamp, null, formatter);
+        }
+
+        @Override
+        protected LocalTimeSerializer withFeatures(Boolean writeZoneId, Boolean useNanoseconds) {
+            return new FastLocalTimeSerializer(this, _useTimestamp, useNanoseconds, _formatter);
+        }
+
+        @Override
+        public void serialize(LocalTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (useTimestamp(provider) || !writeFast(layout, null, value, generator)) {
+                super.serialize(value, generator, provider);
+            }
+        }
+    }
+
+    static class FastLocalDateTimeSerializer extends LocalDateTimeSerializer {
+
+        private final Layout layout;
+
+        FastLocalDateTimeSerializer() {
+            super();
+            this.layout = Layout.ISO_DATE_TIME;
+        }
+
+        private FastLocalDateTimeSerializer(FastLocalDateTimeSerializer base, Boolean useTimestamp,
+                                            Boolean useNanoseconds, DateTimeFormatter formatter) {
+            super(base, useTimestamp, useNanoseconds, formatter);
+            this.layout = layoutOf(formatter, Layout.ISO_DATE_TIME, DATE_TIME_LAYOUTS);
+        }
+
+        @Override
+        protected LocalDateTimeSerializer withFormat(Boolean useTimestamp, DateTimeFormatter formatter, JsonFormat.Shape shape) {
+            return new FastLocalDateTimeSerializer(this, useTimestamp, _useNanoseconds, formatter);
+        }
+
+        @Override
+        protected LocalDateTimeSerializer withFeatures(Boolean writeZoneId, Boolean useNanoseconds) {
+            return new FastLocalDateTimeSerializer(this, _useTimestamp, useNanoseconds, _formatter);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (useTimestamp(provider) || !writeFast(layout, value.toLocalDate(), value.toLocalTime(), generator)) {
+                super.serialize(value, generator, provider);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.appointment.booking.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson modules for the DTOs. Boot installs Module beans into the shared
+ * Jackson2ObjectMapperBuilder after its well-known modules, so these cover request bodies
+ * as well as JSON, CBOR and Smile responses, and their serializers take precedence over
+ * the stock java.time ones.
+ */
+@Configuration
+public class JacksonConfig {
+
+    // Replaces reflective getter/setter/constructor calls with LambdaMetafactory-generated accessors
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module isoJavaTimeModule() {
+        return new IsoJavaTimeModule();
+    }
+}
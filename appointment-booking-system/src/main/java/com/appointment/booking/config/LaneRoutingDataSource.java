@@ -0,0 +1,136 @@
+package com.appointment.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+
+/**
+ * Routes connections to a separate pool per traffic lane, so browse requests can exhaust
+ * their own pool without taking connections that bookings need. The lane is bound to the
+ * thread by the bulkhead interceptor; unbound threads (startup, schedulers, event
+ * listeners) use the write pool.
+ *
+ * <p>Read-only transactions of a request go to a healthy replica when there is one, unless
+ * the request has already opened a read-write transaction: from then on it stays on the
+ * primary so it reads its own writes, taking its connection from the read pool. Such a
+ * transaction is typically nested in a write that still holds its write connection (an
+ * after-commit listener); drawing it from the write pool could deadlock once every write
+ * connection is held by a thread waiting on such a nested read. Read-only transactions on
+ * unbound threads, and inside {@link #onPrimary}, use the primary's read pool as well: they
+ * feed shared caches and indexes stamped with versions bumped at commit, which a lagging
+ * replica would fill with data older than the version. Routing is decided when a
+ * connection is first used, so this data source must sit behind a lazy connection proxy
+ * for the transaction's read-only flag to be visible.
+ */
+public class LaneRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    public enum Lane {
+        WRITE, READ
+    }
+
+    private static final ThreadLocal<Lane> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final Map<Lane, HikariDataSource> pools;
+    private final ReplicaSet replicas;
+
+    public LaneRoutingDataSource(HikariDataSource writePool, HikariDataSource readPool, ReplicaSet replicas) {
+        this.pools = new EnumMap<>(Lane.class);
+        this.pools.put(Lane.WRITE, writePool);
+        this.pools.put(Lane.READ, readPool);
+        this.replicas = replicas;
+    }
+
+    public static void bind(Lane lane) {
+        CURRENT.set(lane);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+        PRIMARY_PINNED.remove();
+    }
+
+    /**
+     * Runs the action with its read-only transactions on the primary. For request-thread
+     * loads whose result outlives the request, such as index partitions or responses kept
+     * under a version tag.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_PINNED.get();
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_PINNED.remove();
+            }
+        }
+    }
+
+    public static Lane current() {
+        Lane lane = CURRENT.get();
+        return lane != null ? lane : Lane.WRITE;
+    }
+
+    public HikariDataSource pool(Lane lane) {
+        return pools.get(lane);
+    }
+
+    public ReplicaSet getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTargetDataSource().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTargetDataSource().getConnection(username, password);
+    }
+
+    DataSource determineTargetDataSource() {
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (inTransaction && !readOnly) {
+            if (CURRENT.get() != null) {
+                PRIMARY_PINNED.set(Boolean.TRUE);
+            }
+        } else if (readOnly && (PRIMARY_PINNED.get() != null || CURRENT.get() == null)) {
+            return pools.get(Lane.READ);
+        } else if (readOnly) {
+            DataSource replica = replicas.select();
+            if (replica != null) {
+                return replica;
+            }
+        }
+        return pools.get(current());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return pools.get(Lane.WRITE).unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || pools.get(Lane.WRITE).isWrapperFor(iface);
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
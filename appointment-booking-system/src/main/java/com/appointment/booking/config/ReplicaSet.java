@@ -0,0 +1,100 @@
+package com.appointment.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replicas with health tracking. Selection starts from a rotating offset and picks
+ * the healthy replica with the fewest busy connections, so load spreads round-robin when
+ * replicas are equally busy and shifts away from a slow one when they are not.
+ */
+public class ReplicaSet {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSet.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSet(List<HikariDataSource> pools) {
+        this.replicas = pools.stream().map(Replica::new).toList();
+    }
+
+    /**
+     * Returns the replica to use, or null if none is healthy.
+     */
+    public HikariDataSource select() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        Replica best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            int load = replica.load();
+            if (load < bestLoad) {
+                best = replica;
+                bestLoad = load;
+            }
+        }
+        return best != null ? best.pool : null;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.pool.getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException | RuntimeException ex) {
+                healthy = false;
+            }
+            if (healthy && !replica.healthy) {
+                log.info("Replica {} is healthy, adding it to rotation", replica.pool.getPoolName());
+            } else if (!healthy && replica.healthy) {
+                log.warn("Replica {} failed its health check, removing it from rotation", replica.pool.getPoolName());
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public int size() {
+        return replicas.size();
+    }
+
+    public long healthyCount() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        // Start out of rotation until the first health check has reached the replica
+        private volatile boolean healthy;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private int load() {
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            return bean != null ? bean.getActiveConnections() + bean.getThreadsAwaitingConnection() : 0;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.appointment.booking.config;
+
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Patient;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Bounded JCache (Caffeine) regions for Hibernate's second-level cache. Every region is
+ * created here up front, and Hibernate is configured to fail on a region it doesn't know,
+ * so nothing is ever cached without a size limit. Each application context gets its own
+ * cache manager, keeping several contexts in one JVM from sharing regions.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String NATURAL_ID_SUFFIX = "##NaturalId";
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${second-level-cache.entity-max-entries:10000}") long entityMaxEntries,
+                                              @Value("${second-level-cache.query-max-entries:1000}") long queryMaxEntries) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+        createRegion(cacheManager, Patient.class.getName(), entityMaxEntries);
+        createRegion(cacheManager, Patient.class.getName() + NATURAL_ID_SUFFIX, entityMaxEntries);
+        createRegion(cacheManager, Doctor.class.getName(), entityMaxEntries);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, queryMaxEntries);
+        // One entry per table; evicting one would make the query cache serve stale results
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, Long.MAX_VALUE);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maxEntries) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxEntries != Long.MAX_VALUE) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,133 @@
+package com.appointment.booking.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Development stand-in for replication between embedded H2 databases, which have none.
+ * Every lag interval the primary's tables are copied into each in-memory replica in a
+ * single transaction, so replica readers see a consistent snapshot that trails the primary
+ * by up to that interval. The schema is copied once, without foreign keys, on first sync.
+ * Only jdbc:h2:mem replica URLs are copied; others are left to fail their health checks.
+ */
+@Component
+@ConditionalOnProperty("datasource.replicas.stand-in.lag-ms")
+public class StandInReplication {
+
+    private static final Logger log = LoggerFactory.getLogger(StandInReplication.class);
+
+    private final LaneRoutingDataSource laneRoutingDataSource;
+    private final List<String> replicaUrls;
+    private final String username;
+    private final String password;
+    private final Set<String> initialized = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public StandInReplication(LaneRoutingDataSource laneRoutingDataSource, DataSourceProperties properties,
+                              @Value("${datasource.replicas.urls:}") String[] replicaUrls) {
+        this.laneRoutingDataSource = laneRoutingDataSource;
+        this.replicaUrls = Arrays.stream(replicaUrls).map(String::trim).filter(url -> url.startsWith("jdbc:h2:mem:")).toList();
+        this.username = properties.determineUsername();
+        this.password = properties.determinePassword();
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.stand-in.lag-ms}")
+    public void replicate() {
+        for (String url : replicaUrls) {
+            try (Connection primary = laneRoutingDataSource.pool(LaneRoutingDataSource.Lane.READ).getConnection();
+                 Connection replica = DriverManager.getConnection(url, username, password)) {
+                if (initialized.add(url)) {
+                    copySchema(primary, replica);
+                }
+                copyData(primary, replica);
+            } catch (SQLException ex) {
+                initialized.remove(url);
+                log.warn("Stand-in replication to {} failed: {}", url, ex.getMessage());
+            }
+        }
+    }
+
+    private static void copySchema(Connection primary, Connection replica) throws SQLException {
+        List<String> ddl = new ArrayList<>();
+        try (Statement statement = primary.createStatement();
+             ResultSet script = statement.executeQuery("SCRIPT NODATA NOPASSWORDS NOSETTINGS")) {
+            while (script.next()) {
+                String sql = script.getString(1);
+                // Tables are copied one by one, so referential order is not kept
+                if (!sql.startsWith("--") && !sql.startsWith("CREATE USER") && !sql.contains(" FOREIGN KEY(")) {
+                    ddl.add(sql);
+                }
+            }
+        }
+        try (Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : ddl) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static void copyData(Connection primary, Connection replica) throws SQLException {
+        replica.setAutoCommit(false);
+        try {
+            for (String table : tables(primary)) {
+                try (Statement delete = replica.createStatement()) {
+                    delete.executeUpdate("DELETE FROM \"" + table + "\"");
+                }
+                copyTable(primary, replica, table);
+            }
+            replica.commit();
+        } catch (SQLException ex) {
+            replica.rollback();
+            throw ex;
+        }
+    }
+
+    private static void copyTable(Connection primary, Connection replica, String table) throws SQLException {
+        try (Statement select = primary.createStatement();
+             ResultSet rows = select.executeQuery("SELECT * FROM \"" + table + "\"")) {
+            int columns = rows.getMetaData().getColumnCount();
+            String placeholders = String.join(", ", Collections.nCopies(columns, "?"));
+            try (PreparedStatement insert = replica.prepareStatement(
+                    "INSERT INTO \"" + table + "\" VALUES (" + placeholders + ")")) {
+                while (rows.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        insert.setObject(i, rows.getObject(i));
+                    }
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    private static List<String> tables(Connection primary) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = primary.createStatement();
+             ResultSet result = statement.executeQuery("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                     + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'")) {
+            while (result.next()) {
+                tables.add(result.getString(1));
+            }
+        }
+        return tables;
+    }
+}
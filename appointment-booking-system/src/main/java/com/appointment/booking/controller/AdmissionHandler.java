@@ -0,0 +1,106 @@
+package com.appointment.booking.controller;
+
+import com.appointment.booking.exception.TooManyRequestsException;
+import com.appointment.booking.util.AdaptiveConcurrencyLimit;
+import com.appointment.booking.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for booking and cancellation. A request must pass a token bucket for
+ * its remote address and, when known, for its patient, and then fit under a system-wide
+ * concurrency limit that adapts to observed latency. Anything that doesn't is refused
+ * immediately with 429 and a Retry-After hint instead of queueing for database locks.
+ */
+@Component
+public class AdmissionHandler {
+
+    private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final Map<Long, TokenBucket> patientBuckets = new ConcurrentHashMap<>();
+    private final double clientRate;
+    private final int clientBurst;
+    private final double patientRate;
+    private final int patientBurst;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Counter clientRejections;
+    private final Counter patientRejections;
+    private final Counter concurrencyRejections;
+
+    @Autowired
+    public AdmissionHandler(MeterRegistry meterRegistry,
+                            @Value("${admission.client.per-minute:60}") double clientPerMinute,
+                            @Value("${admission.client.burst:20}") int clientBurst,
+                            @Value("${admission.patient.per-minute:10}") double patientPerMinute,
+                            @Value("${admission.patient.burst:5}") int patientBurst,
+                            @Value("${admission.concurrency.initial-limit:20}") int initialLimit,
+                            @Value("${admission.concurrency.min-limit:4}") int minLimit,
+                            @Value("${admission.concurrency.max-limit:100}") int maxLimit,
+                            @Value("${admission.concurrency.latency-threshold-ms:250}") long latencyThresholdMillis,
+                            @Value("${admission.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+        this.clientRate = clientPerMinute / 60;
+        this.clientBurst = clientBurst;
+        this.patientRate = patientPerMinute / 60;
+        this.patientBurst = patientBurst;
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit,
+                latencyThresholdMillis, TimeUnit.MILLISECONDS, backoffRatio);
+        Gauge.builder("admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit for booking requests")
+                .register(meterRegistry);
+        Gauge.builder("admission.in.flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Booking requests currently admitted")
+                .register(meterRegistry);
+        this.clientRejections = meterRegistry.counter("admission.rejected", "reason", "client");
+        this.patientRejections = meterRegistry.counter("admission.rejected", "reason", "patient");
+        this.concurrencyRejections = meterRegistry.counter("admission.rejected", "reason", "concurrency");
+    }
+
+    /**
+     * Runs the action if the request is admitted. Clients are identified by remote address
+     * only: an identifier the caller picks could be changed per request for a fresh bucket.
+     */
+    public <T> T execute(String remoteAddress, Long patientId, Supplier<T> action) {
+        long wait = clientBuckets.computeIfAbsent(remoteAddress, key -> new TokenBucket(clientRate, clientBurst)).tryAcquire();
+        if (wait > 0) {
+            clientRejections.increment();
+            throw new TooManyRequestsException("Too many requests from this client", retryAfterSeconds(wait));
+        }
+        if (patientId != null) {
+            wait = patientBuckets.computeIfAbsent(patientId, key -> new TokenBucket(patientRate, patientBurst)).tryAcquire();
+            if (wait > 0) {
+                patientRejections.increment();
+                throw new TooManyRequestsException("Too many booking requests for this patient", retryAfterSeconds(wait));
+            }
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            concurrencyRejections.increment();
+            throw new TooManyRequestsException("Booking service is busy, please retry shortly", 1);
+        }
+
+        long started = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            concurrencyLimit.release(System.nanoTime() - started);
+        }
+    }
+
+    // A full bucket carries no state, so dropping it is indistinguishable from keeping it
+    @Scheduled(fixedDelayString = "${admission.bucket-cleanup-ms:60000}")
+    public void evictIdleBuckets() {
+        clientBuckets.values().removeIf(TokenBucket::isIdle);
+        patientBuckets.values().removeIf(TokenBucket::isIdle);
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -3,36 +3,66 @@ package com.appointment.booking.controller;
 import com.appointment.booking.dto.ApiResponse;
 import com.appointment.booking.dto.AppointmentDTO;
 import com.appointment.booking.dto.AppointmentRequest;
+import com.appointment.booking.dto.NormalizedAppointmentsDTO;
 import com.appointment.booking.entity.Appointment.AppointmentStatus;
+import com.appointment.booking.mapper.AppointmentMapper;
 import com.appointment.booking.service.AppointmentService;
+import com.appointment.booking.service.HeavyHitterService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/appointments")
 @Tag(name = "Appointment Management", description = "APIs for managing appointments")
 public class AppointmentController {
 
+    private static final String NORMALIZED = "view=normalized";
+    private static final String FIELDS = "fields";
+
     private final AppointmentService appointmentService;
+    private final IdempotencyHandler idempotencyHandler;
+    private final AppointmentMapper appointmentMapper;
+    private final HeavyHitterService heavyHitterService;
+    private final AdmissionHandler admissionHandler;
 
     @Autowired
-    public AppointmentController(AppointmentService appointmentService) {
+    public AppointmentController(AppointmentService appointmentService, IdempotencyHandler idempotencyHandler,
+                                 AppointmentMapper appointmentMapper, HeavyHitterService heavyHitterService,
+                                 AdmissionHandler admissionHandler) {
         this.appointmentService = appointmentService;
+        this.idempotencyHandler = idempotencyHandler;
+        this.appointmentMapper = appointmentMapper;
+        this.heavyHitterService = heavyHitterService;
+        this.admissionHandler = admissionHandler;
     }
 
     @PostMapping
     @Operation(summary = "Book a new appointment", description = "Books a new appointment with conflict prevention")
-    public ResponseEntity<ApiResponse<AppointmentDTO>> bookAppointment(@Valid @RequestBody AppointmentRequest appointmentRequest) {
-        AppointmentDTO bookedAppointment = appointmentService.bookAppointment(appointmentRequest);
-        ApiResponse<AppointmentDTO> response = ApiResponse.success("Appointment booked successfully", bookedAppointment);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    public ResponseEntity<ApiResponse<AppointmentDTO>> bookAppointment(
+            @Parameter(description = "Client-generated key that makes retries safe") @RequestHeader(value = IdempotencyHandler.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody AppointmentRequest appointmentRequest,
+            HttpServletRequest httpRequest) {
+        Object fingerprint = Arrays.asList(appointmentRequest.getPatientId(), appointmentRequest.getDoctorId(),
+                appointmentRequest.getAvailabilityId(), appointmentRequest.getDate(), appointmentRequest.getNotes());
+        // Replays are answered before admission, so retrying a finished request costs no tokens
+        return idempotencyHandler.execute(idempotencyKey, "POST /api/appointments", fingerprint, () -> {
+            heavyHitterService.recordDoctorDate(appointmentRequest.getDoctorId(), appointmentRequest.getDate());
+            return admissionHandler.execute(httpRequest.getRemoteAddr(), appointmentRequest.getPatientId(), () -> {
+                AppointmentDTO bookedAppointment = appointmentService.bookAppointment(appointmentRequest);
+                ApiResponse<AppointmentDTO> response = ApiResponse.success("Appointment booked successfully", bookedAppointment);
+                return new ResponseEntity<>(response, HttpStatus.CREATED);
+            });
+        });
     }
 
     @GetMapping("/{id}")
@@ -51,6 +81,24 @@ public class AppointmentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/patient/{patientId}", params = NORMALIZED)
+    @Operation(summary = "Get appointments by patient (normalized)", description = "Same list with patients and doctors side-loaded once instead of repeated on every appointment")
+    public ResponseEntity<ApiResponse<NormalizedAppointmentsDTO>> getAppointmentsByPatientNormalized(@Parameter(description = "Patient ID") @PathVariable Long patientId) {
+        NormalizedAppointmentsDTO normalized = appointmentMapper.toNormalizedDTO(appointmentService.getAppointmentsByPatient(patientId));
+        ApiResponse<NormalizedAppointmentsDTO> response = ApiResponse.success("Retrieved " + normalized.getAppointments().size() + " appointments", normalized);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/patient/{patientId}", params = FIELDS)
+    @Operation(summary = "Get appointments by patient (sparse fields)", description = "Same list narrowed to the requested fields, which are the only columns selected")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAppointmentsByPatientFields(
+            @Parameter(description = "Patient ID") @PathVariable Long patientId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,date,startTime,status") @RequestParam String fields) {
+        List<Map<String, Object>> appointments = appointmentService.getAppointmentFields(patientId, null, null, false, fields);
+        ApiResponse<List<Map<String, Object>>> response = ApiResponse.success("Retrieved " + appointments.size() + " appointments", appointments);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/doctor/{doctorId}")
     @Operation(summary = "Get appointments by doctor", description = "Retrieves all appointments for a specific doctor")
     public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsByDoctor(@Parameter(description = "Doctor ID") @PathVariable Long doctorId) {
@@ -59,6 +107,24 @@ public class AppointmentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/doctor/{doctorId}", params = NORMALIZED)
+    @Operation(summary = "Get appointments by doctor (normalized)", description = "Same list with patients and doctors side-loaded once instead of repeated on every appointment")
+    public ResponseEntity<ApiResponse<NormalizedAppointmentsDTO>> getAppointmentsByDoctorNormalized(@Parameter(description = "Doctor ID") @PathVariable Long doctorId) {
+        NormalizedAppointmentsDTO normalized = appointmentMapper.toNormalizedDTO(appointmentService.getAppointmentsByDoctor(doctorId));
+        ApiResponse<NormalizedAppointmentsDTO> response = ApiResponse.success("Retrieved " + normalized.getAppointments().size() + " appointments", normalized);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/doctor/{doctorId}", params = FIELDS)
+    @Operation(summary = "Get appointments by doctor (sparse fields)", description = "Same list narrowed to the requested fields, which are the only columns selected")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAppointmentsByDoctorFields(
+            @Parameter(description = "Doctor ID") @PathVariable Long doctorId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,date,startTime,status") @RequestParam String fields) {
+        List<Map<String, Object>> appointments = appointmentService.getAppointmentFields(null, doctorId, null, false, fields);
+        ApiResponse<List<Map<String, Object>>> response = ApiResponse.success("Retrieved " + appointments.size() + " appointments", appointments);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/patient/{patientId}/status/{status}")
     @Operation(summary = "Get patient appointments by status", description = "Retrieves patient appointments filtered by status")
     public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsByPatientAndStatus(
@@ -69,6 +135,27 @@ public class AppointmentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/patient/{patientId}/status/{status}", params = NORMALIZED)
+    @Operation(summary = "Get patient appointments by status (normalized)", description = "Same list with patients and doctors side-loaded once instead of repeated on every appointment")
+    public ResponseEntity<ApiResponse<NormalizedAppointmentsDTO>> getAppointmentsByPatientAndStatusNormalized(
+            @Parameter(description = "Patient ID") @PathVariable Long patientId,
+            @Parameter(description = "Appointment status") @PathVariable AppointmentStatus status) {
+        NormalizedAppointmentsDTO normalized = appointmentMapper.toNormalizedDTO(appointmentService.getAppointmentsByPatientAndStatus(patientId, status));
+        ApiResponse<NormalizedAppointmentsDTO> response = ApiResponse.success("Retrieved " + normalized.getAppointments().size() + " " + status + " appointments", normalized);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/patient/{patientId}/status/{status}", params = FIELDS)
+    @Operation(summary = "Get patient appointments by status (sparse fields)", description = "Same list narrowed to the requested fields, which are the only columns selected")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAppointmentsByPatientAndStatusFields(
+            @Parameter(description = "Patient ID") @PathVariable Long patientId,
+            @Parameter(description = "Appointment status") @PathVariable AppointmentStatus status,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,date,startTime,status") @RequestParam String fields) {
+        List<Map<String, Object>> appointments = appointmentService.getAppointmentFields(patientId, null, status, false, fields);
+        ApiResponse<List<Map<String, Object>>> response = ApiResponse.success("Retrieved " + appointments.size() + " " + status + " appointments", appointments);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/doctor/{doctorId}/status/{status}")
     @Operation(summary = "Get doctor appointments by status", description = "Retrieves doctor appointments filtered by status")
     public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsByDoctorAndStatus(
@@ -79,6 +166,27 @@ public class AppointmentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/doctor/{doctorId}/status/{status}", params = NORMALIZED)
+    @Operation(summary = "Get doctor appointments by status (normalized)", description = "Same list with patients and doctors side-loaded once instead of repeated on every appointment")
+    public ResponseEntity<ApiResponse<NormalizedAppointmentsDTO>> getAppointmentsByDoctorAndStatusNormalized(
+            @Parameter(description = "Doctor ID") @PathVariable Long doctorId,
+            @Parameter(description = "Appointment status") @PathVariable AppointmentStatus status) {
+        NormalizedAppointmentsDTO normalized = appointmentMapper.toNormalizedDTO(appointmentService.getAppointmentsByDoctorAndStatus(doctorId, status));
+        ApiResponse<NormalizedAppointmentsDTO> response = ApiResponse.success("Retrieved " + normalized.getAppointments().size() + " " + status + " appointments", normalized);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/doctor/{doctorId}/status/{status}", params = FIELDS)
+    @Operation(summary = "Get doctor appointments by status (sparse fields)", description = "Same list narrowed to the requested fields, which are the only columns selected")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAppointmentsByDoctorAndStatusFields(
+            @Parameter(description = "Doctor ID") @PathVariable Long doctorId,
+            @Parameter(description = "Appointment status") @PathVariable AppointmentStatus status,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,date,startTime,status") @RequestParam String fields) {
+        List<Map<String, Object>> appointments = appointmentService.getAppointmentFields(null, doctorId, status, false, fields);
+        ApiResponse<List<Map<String, Object>>> response = ApiResponse.success("Retrieved " + appointments.size() + " " + status + " appointments", appointments);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/patient/{patientId}/upcoming")
     @Operation(summary = "Get upcoming patient appointments", description = "Retrieves upcoming appointments for a patient")
     public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getUpcomingAppointmentsByPatient(@Parameter(description = "Patient ID") @PathVariable Long patientId) {
@@ -87,6 +195,24 @@ public class AppointmentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/patient/{patientId}/upcoming", params = NORMALIZED)
+    @Operation(summary = "Get upcoming patient appointments (normalized)", description = "Same list with patients and doctors side-loaded once instead of repeated on every appointment")
+    public ResponseEntity<ApiResponse<NormalizedAppointmentsDTO>> getUpcomingAppointmentsByPatientNormalized(@Parameter(description = "Patient ID") @PathVariable Long patientId) {
+        NormalizedAppointmentsDTO normalized = appointmentMapper.toNormalizedDTO(appointmentService.getUpcomingAppointmentsByPatient(patientId));
+        ApiResponse<NormalizedAppointmentsDTO> response = ApiResponse.success("Retrieved " + normalized.getAppointments().size() + " upcoming appointments", normalized);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/patient/{patientId}/upcoming", params = FIELDS)
+    @Operation(summary = "Get upcoming patient appointments (sparse fields)", description = "Same list narrowed to the requested fields, which are the only columns selected")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getUpcomingAppointmentsByPatientFields(
+            @Parameter(description = "Patient ID") @PathVariable Long patientId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,date,startTime,status") @RequestParam String fields) {
+        List<Map<String, Object>> appointments = appointmentService.getAppointmentFields(patientId, null, null, true, fields);
+        ApiResponse<List<Map<String, Object>>> response = ApiResponse.success("Retrieved " + appointments.size() + " upcoming appointments", appointments);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/doctor/{doctorId}/upcoming")
     @Operation(summary = "Get upcoming doctor appointments", description = "Retrieves upcoming appointments for a doctor")
     public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getUpcomingAppointmentsByDoctor(@Parameter(description = "Doctor ID") @PathVariable Long doctorId) {
@@ -95,22 +221,49 @@ public class AppointmentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/doctor/{doctorId}/upcoming", params = NORMALIZED)
+    @Operation(summary = "Get upcoming doctor appointments (normalized)", description = "Same list with patients and doctors side-loaded once instead of repeated on every appointment")
+    public ResponseEntity<ApiResponse<NormalizedAppointmentsDTO>> getUpcomingAppointmentsByDoctorNormalized(@Parameter(description = "Doctor ID") @PathVariable Long doctorId) {
+        NormalizedAppointmentsDTO normalized = appointmentMapper.toNormalizedDTO(appointmentService.getUpcomingAppointmentsByDoctor(doctorId));
+        ApiResponse<NormalizedAppointmentsDTO> response = ApiResponse.success("Retrieved " + normalized.getAppointments().size() + " upcoming appointments", normalized);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/doctor/{doctorId}/upcoming", params = FIELDS)
+    @Operation(summary = "Get upcoming doctor appointments (sparse fields)", description = "Same list narrowed to the requested fields, which are the only columns selected")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getUpcomingAppointmentsByDoctorFields(
+            @Parameter(description = "Doctor ID") @PathVariable Long doctorId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,date,startTime,status") @RequestParam String fields) {
+        List<Map<String, Object>> appointments = appointmentService.getAppointmentFields(null, doctorId, null, true, fields);
+        ApiResponse<List<Map<String, Object>>> response = ApiResponse.success("Retrieved " + appointments.size() + " upcoming appointments", appointments);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}/cancel")
     @Operation(summary = "Cancel appointment", description = "Cancels an existing appointment and frees up the time slot")
-    public ResponseEntity<ApiResponse<AppointmentDTO>> cancelAppointment(@Parameter(description = "Appointment ID") @PathVariable Long id) {
-        AppointmentDTO canceledAppointment = appointmentService.cancelAppointment(id);
-        ApiResponse<AppointmentDTO> response = ApiResponse.success("Appointment canceled successfully", canceledAppointment);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ApiResponse<AppointmentDTO>> cancelAppointment(
+            @Parameter(description = "Client-generated key that makes retries safe") @RequestHeader(value = IdempotencyHandler.HEADER, required = false) String idempotencyKey,
+            @Parameter(description = "Appointment ID") @PathVariable Long id,
+            HttpServletRequest httpRequest) {
+        return idempotencyHandler.execute(idempotencyKey, "PUT /api/appointments/{id}/cancel", id, () ->
+                admissionHandler.execute(httpRequest.getRemoteAddr(), null, () -> {
+                    AppointmentDTO canceledAppointment = appointmentService.cancelAppointment(id);
+                    ApiResponse<AppointmentDTO> response = ApiResponse.success("Appointment canceled successfully", canceledAppointment);
+                    return ResponseEntity.ok(response);
+                }));
     }
 
     @PutMapping("/{id}/notes")
     @Operation(summary = "Update appointment notes", description = "Updates the notes for an existing appointment")
     public ResponseEntity<ApiResponse<AppointmentDTO>> updateAppointmentNotes(
+            @Parameter(description = "Client-generated key that makes retries safe") @RequestHeader(value = IdempotencyHandler.HEADER, required = false) String idempotencyKey,
             @Parameter(description = "Appointment ID") @PathVariable Long id,
             @Parameter(description = "Notes") @RequestParam String notes) {
-        AppointmentDTO updatedAppointment = appointmentService.updateAppointmentNotes(id, notes);
-        ApiResponse<AppointmentDTO> response = ApiResponse.success("Appointment notes updated successfully", updatedAppointment);
-        return ResponseEntity.ok(response);
+        return idempotencyHandler.execute(idempotencyKey, "PUT /api/appointments/{id}/notes", Arrays.asList(id, notes), () -> {
+            AppointmentDTO updatedAppointment = appointmentService.updateAppointmentNotes(id, notes);
+            ApiResponse<AppointmentDTO> response = ApiResponse.success("Appointment notes updated successfully", updatedAppointment);
+            return ResponseEntity.ok(response);
+        });
     }
 
     @DeleteMapping("/{id}")
@@ -2,7 +2,11 @@ package com.appointment.booking.controller;
 
 import com.appointment.booking.dto.ApiResponse;
 import com.appointment.booking.dto.AvailabilityDTO;
+import com.appointment.booking.dto.DoctorScheduleDTO;
+import com.appointment.booking.event.SlotChangeBroadcaster;
 import com.appointment.booking.service.AvailabilityService;
+import com.appointment.booking.service.HeavyHitterService;
+import com.appointment.booking.service.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,21 +14,38 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
 @Tag(name = "Availability Management", description = "APIs for managing doctor availability")
 public class AvailabilityController {
 
+    private static final String FIELDS = "fields";
+
     private final AvailabilityService availabilityService;
+    private final SlotChangeBroadcaster slotChangeBroadcaster;
+    private final ResourceVersionService resourceVersionService;
+    private final HeavyHitterService heavyHitterService;
+    private final StaleResponseHandler staleResponseHandler;
 
     @Autowired
-    public AvailabilityController(AvailabilityService availabilityService) {
+    public AvailabilityController(AvailabilityService availabilityService, SlotChangeBroadcaster slotChangeBroadcaster,
+                                  ResourceVersionService resourceVersionService, HeavyHitterService heavyHitterService,
+                                  StaleResponseHandler staleResponseHandler) {
         this.availabilityService = availabilityService;
+        this.slotChangeBroadcaster = slotChangeBroadcaster;
+        this.resourceVersionService = resourceVersionService;
+        this.heavyHitterService = heavyHitterService;
+        this.staleResponseHandler = staleResponseHandler;
     }
 
     @PostMapping("/doctors/{doctorId}/availability")
@@ -47,41 +68,171 @@ public class AvailabilityController {
 
     @GetMapping("/availability/doctor/{doctorId}")
     @Operation(summary = "Get doctor's availability", description = "Retrieves all availability slots for a specific doctor")
-    public ResponseEntity<ApiResponse<List<AvailabilityDTO>>> getAvailabilitiesByDoctor(@Parameter(description = "Doctor ID") @PathVariable Long doctorId) {
+    public ResponseEntity<ApiResponse<List<AvailabilityDTO>>> getAvailabilitiesByDoctor(@Parameter(description = "Doctor ID") @PathVariable Long doctorId, WebRequest webRequest) {
+        heavyHitterService.recordDoctor(doctorId);
+        if (webRequest.checkNotModified(resourceVersionService.doctorScheduleTag(doctorId))) {
+            return null;
+        }
         List<AvailabilityDTO> availabilities = availabilityService.getAvailabilitiesByDoctor(doctorId);
         ApiResponse<List<AvailabilityDTO>> response = ApiResponse.success("Retrieved " + availabilities.size() + " availability slots", availabilities);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/availability/doctor/{doctorId}", params = FIELDS)
+    @Operation(summary = "Get doctor's availability (sparse fields)", description = "Same list narrowed to the requested fields, which are the only columns selected")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAvailabilitiesByDoctorFields(
+            @Parameter(description = "Doctor ID") @PathVariable Long doctorId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,date,startTime,isAvailable") @RequestParam String fields,
+            WebRequest webRequest) {
+        heavyHitterService.recordDoctor(doctorId);
+        if (webRequest.checkNotModified(resourceVersionService.doctorScheduleTag(doctorId))) {
+            return null;
+        }
+        List<Map<String, Object>> slots = availabilityService.getAvailabilityFields(doctorId, null, false, fields);
+        ApiResponse<List<Map<String, Object>>> response = ApiResponse.success("Retrieved " + slots.size() + " availability slots", slots);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/availability/doctor/{doctorId}/date/{date}")
     @Operation(summary = "Get doctor availability by date", description = "Retrieves doctor's availability for a specific date")
     public ResponseEntity<ApiResponse<List<AvailabilityDTO>>> getAvailabilitiesByDoctorAndDate(
             @Parameter(description = "Doctor ID") @PathVariable Long doctorId,
-            @Parameter(description = "Date (yyyy-MM-dd)") @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @Parameter(description = "Date (yyyy-MM-dd)") @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest webRequest) {
+        heavyHitterService.recordDoctorDate(doctorId, date);
+        if (webRequest.checkNotModified(resourceVersionService.doctorDateTag(doctorId, date))) {
+            return null;
+        }
         List<AvailabilityDTO> availabilities = availabilityService.getAvailabilitiesByDoctorAndDate(doctorId, date);
         ApiResponse<List<AvailabilityDTO>> response = ApiResponse.success("Retrieved " + availabilities.size() + " availability slots for date: " + date, availabilities);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/availability/doctor/{doctorId}/date/{date}", params = FIELDS)
+    @Operation(summary = "Get doctor availability by date (sparse fields)", description = "Same list narrowed to the requested fields, which are the only columns selected")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAvailabilitiesByDoctorAndDateFields(
+            @Parameter(description = "Doctor ID") @PathVariable Long doctorId,
+            @Parameter(description = "Date (yyyy-MM-dd)") @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,date,startTime,isAvailable") @RequestParam String fields,
+            WebRequest webRequest) {
+        heavyHitterService.recordDoctorDate(doctorId, date);
+        if (webRequest.checkNotModified(resourceVersionService.doctorDateTag(doctorId, date))) {
+            return null;
+        }
+        List<Map<String, Object>> slots = availabilityService.getAvailabilityFields(doctorId, date, false, fields);
+        ApiResponse<List<Map<String, Object>>> response = ApiResponse.success("Retrieved " + slots.size() + " availability slots for date: " + date, slots);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/availability/available/{date}")
     @Operation(summary = "Get all available slots by date", description = "Retrieves all available appointment slots for a specific date")
     public ResponseEntity<ApiResponse<List<AvailabilityDTO>>> getAvailableSlotsByDate(
-            @Parameter(description = "Date (yyyy-MM-dd)") @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        List<AvailabilityDTO> availableSlots = availabilityService.getAvailableSlotsByDate(date);
+            @Parameter(description = "Date (yyyy-MM-dd)") @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Only doctors with this specialization") @RequestParam(required = false) String specialization,
+            @Parameter(description = "Cursor: start time (HH:mm) of the last slot already seen") @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime afterStartTime,
+            @Parameter(description = "Cursor: ID of the last slot already seen") @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Maximum number of slots to return") @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        heavyHitterService.recordDate(date);
+        if (webRequest.checkNotModified(resourceVersionService.dateTag(date))) {
+            return null;
+        }
+        List<AvailabilityDTO> availableSlots = availabilityService.getAvailableSlotsByDate(date, specialization, afterStartTime, afterId, limit);
         ApiResponse<List<AvailabilityDTO>> response = ApiResponse.success("Retrieved " + availableSlots.size() + " available slots for date: " + date, availableSlots);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/availability/available/{date}", params = FIELDS)
+    @Operation(summary = "Get all available slots by date (sparse fields)", description = "Same list narrowed to the requested fields, which are the only columns selected")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAvailableSlotsByDateFields(
+            @Parameter(description = "Date (yyyy-MM-dd)") @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,date,startTime,isAvailable") @RequestParam String fields,
+            WebRequest webRequest) {
+        heavyHitterService.recordDate(date);
+        if (webRequest.checkNotModified(resourceVersionService.dateTag(date))) {
+            return null;
+        }
+        List<Map<String, Object>> slots = availabilityService.getAvailabilityFields(null, date, true, fields);
+        ApiResponse<List<Map<String, Object>>> response = ApiResponse.success("Retrieved " + slots.size() + " available slots for date: " + date, slots);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/availability/doctor/{doctorId}/available/{date}")
     @Operation(summary = "Get available slots for doctor by date", description = "Retrieves available appointment slots for a specific doctor and date")
     public ResponseEntity<ApiResponse<List<AvailabilityDTO>>> getAvailableSlotsByDoctorAndDate(
             @Parameter(description = "Doctor ID") @PathVariable Long doctorId,
-            @Parameter(description = "Date (yyyy-MM-dd)") @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        List<AvailabilityDTO> availableSlots = availabilityService.getAvailableSlotsByDoctorAndDate(doctorId, date);
-        ApiResponse<List<AvailabilityDTO>> response = ApiResponse.success("Retrieved " + availableSlots.size() + " available slots", availableSlots);
+            @Parameter(description = "Date (yyyy-MM-dd)") @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest webRequest) {
+        heavyHitterService.recordDoctorDate(doctorId, date);
+        String key = "available|" + doctorId + "|" + date;
+        return staleResponseHandler.execute(key, resourceVersionService.doctorDateTag(doctorId, date), webRequest, () -> {
+            List<AvailabilityDTO> availableSlots = availabilityService.getAvailableSlotsByDoctorAndDate(doctorId, date);
+            ApiResponse<List<AvailabilityDTO>> response = ApiResponse.success("Retrieved " + availableSlots.size() + " available slots", availableSlots);
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    @GetMapping(value = "/availability/doctor/{doctorId}/available/{date}", params = FIELDS)
+    @Operation(summary = "Get available slots for doctor by date (sparse fields)", description = "Same list narrowed to the requested fields, which are the only columns selected")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAvailableSlotsByDoctorAndDateFields(
+            @Parameter(description = "Doctor ID") @PathVariable Long doctorId,
+            @Parameter(description = "Date (yyyy-MM-dd)") @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,date,startTime,isAvailable") @RequestParam String fields,
+            WebRequest webRequest) {
+        heavyHitterService.recordDoctorDate(doctorId, date);
+        if (webRequest.checkNotModified(resourceVersionService.doctorDateTag(doctorId, date))) {
+            return null;
+        }
+        List<Map<String, Object>> slots = availabilityService.getAvailabilityFields(doctorId, date, true, fields);
+        ApiResponse<List<Map<String, Object>>> response = ApiResponse.success("Retrieved " + slots.size() + " available slots", slots);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/availability/doctor/{doctorId}/range")
+    @Operation(summary = "Get doctor slots for a date range", description = "Retrieves a doctor's slots between two dates, grouped by day")
+    public ResponseEntity<ApiResponse<DoctorScheduleDTO>> getDoctorSchedule(
+            @Parameter(description = "Doctor ID") @PathVariable Long doctorId,
+            @Parameter(description = "From date (yyyy-MM-dd)") @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "To date, inclusive (yyyy-MM-dd)") @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @Parameter(description = "Only include bookable slots") @RequestParam(defaultValue = "false") boolean onlyFree,
+            WebRequest webRequest) {
+        heavyHitterService.recordDoctor(doctorId);
+        if (webRequest.checkNotModified(resourceVersionService.doctorScheduleTag(doctorId))) {
+            return null;
+        }
+        DoctorScheduleDTO schedule = availabilityService.getDoctorSchedule(doctorId, fromDate, toDate, onlyFree);
+        ApiResponse<DoctorScheduleDTO> response = ApiResponse.success("Retrieved slots on " + schedule.getDays().size() + " days", schedule);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/availability/range")
+    @Operation(summary = "Compare doctor slots for a date range", description = "Retrieves slots of several doctors between two dates, grouped by doctor and day")
+    public ResponseEntity<ApiResponse<List<DoctorScheduleDTO>>> getDoctorSchedules(
+            @Parameter(description = "Doctor IDs") @RequestParam List<Long> doctorIds,
+            @Parameter(description = "From date (yyyy-MM-dd)") @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "To date, inclusive (yyyy-MM-dd)") @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @Parameter(description = "Only include bookable slots") @RequestParam(defaultValue = "false") boolean onlyFree) {
+        List<DoctorScheduleDTO> schedules = availabilityService.getDoctorSchedules(doctorIds, fromDate, toDate, onlyFree);
+        ApiResponse<List<DoctorScheduleDTO>> response = ApiResponse.success("Retrieved schedules for " + schedules.size() + " doctors", schedules);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/availability/doctor/{doctorId}/stream/{date}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream doctor slot changes", description = "Server-Sent Events stream of slot changes for a doctor on a date; subscribe first, then fetch the current slots once")
+    public SseEmitter streamDoctorSlotChanges(
+            @Parameter(description = "Doctor ID") @PathVariable Long doctorId,
+            @Parameter(description = "Date (yyyy-MM-dd)") @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return slotChangeBroadcaster.subscribeToDoctor(doctorId, date);
+    }
+
+    @GetMapping(value = "/availability/specialization/{specialization}/stream/{date}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream specialization slot changes", description = "Server-Sent Events stream of slot changes for every doctor of a specialization on a date")
+    public SseEmitter streamSpecializationSlotChanges(
+            @Parameter(description = "Doctor specialization") @PathVariable String specialization,
+            @Parameter(description = "Date (yyyy-MM-dd)") @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return slotChangeBroadcaster.subscribeToSpecialization(specialization, date);
+    }
+
     @PutMapping("/availability/{id}")
     @Operation(summary = "Update availability", description = "Updates an existing availability slot")
     public ResponseEntity<ApiResponse<AvailabilityDTO>> updateAvailability(
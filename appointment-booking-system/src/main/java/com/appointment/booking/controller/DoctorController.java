@@ -3,14 +3,20 @@ package com.appointment.booking.controller;
 import com.appointment.booking.dto.ApiResponse;
 import com.appointment.booking.dto.DoctorDTO;
 import com.appointment.booking.service.DoctorService;
+import com.appointment.booking.service.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -19,10 +25,17 @@ import java.util.List;
 public class DoctorController {
 
     private final DoctorService doctorService;
+    private final ResourceVersionService resourceVersionService;
+    private final StaleResponseHandler staleResponseHandler;
+    private final ImportStreamHandler importStreamHandler;
 
     @Autowired
-    public DoctorController(DoctorService doctorService) {
+    public DoctorController(DoctorService doctorService, ResourceVersionService resourceVersionService,
+                            StaleResponseHandler staleResponseHandler, ImportStreamHandler importStreamHandler) {
         this.doctorService = doctorService;
+        this.resourceVersionService = resourceVersionService;
+        this.staleResponseHandler = staleResponseHandler;
+        this.importStreamHandler = importStreamHandler;
     }
 
     @PostMapping
@@ -33,9 +46,20 @@ public class DoctorController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {ImportStreamHandler.CSV, ImportStreamHandler.NDJSON})
+    @Operation(summary = "Bulk import doctors",
+               description = "Streams a CSV (name,specialization header) or NDJSON upload into the doctor table and streams back an NDJSON report of rejected rows followed by totals")
+    public ResponseEntity<ResponseBodyEmitter> importDoctors(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                             InputStream body) {
+        return importStreamHandler.execute(contentType, body, doctorService::importDoctors);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get doctor by ID", description = "Retrieves a doctor by their unique identifier")
-    public ResponseEntity<ApiResponse<DoctorDTO>> getDoctorById(@Parameter(description = "Doctor ID") @PathVariable Long id) {
+    public ResponseEntity<ApiResponse<DoctorDTO>> getDoctorById(@Parameter(description = "Doctor ID") @PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(resourceVersionService.doctorTag(id))) {
+            return null;
+        }
         DoctorDTO doctor = doctorService.getDoctorById(id);
         ApiResponse<DoctorDTO> response = ApiResponse.success("Doctor retrieved successfully", doctor);
         return ResponseEntity.ok(response);
@@ -43,23 +67,30 @@ public class DoctorController {
 
     @GetMapping
     @Operation(summary = "Get all doctors", description = "Retrieves a list of all registered doctors")
-    public ResponseEntity<ApiResponse<List<DoctorDTO>>> getAllDoctors() {
-        List<DoctorDTO> doctors = doctorService.getAllDoctors();
-        ApiResponse<List<DoctorDTO>> response = ApiResponse.success("Retrieved " + doctors.size() + " doctors", doctors);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ApiResponse<List<DoctorDTO>>> getAllDoctors(WebRequest webRequest) {
+        return staleResponseHandler.execute("doctors", resourceVersionService.directoryTag(), webRequest, () -> {
+            List<DoctorDTO> doctors = doctorService.getAllDoctors();
+            ApiResponse<List<DoctorDTO>> response = ApiResponse.success("Retrieved " + doctors.size() + " doctors", doctors);
+            return ResponseEntity.ok(response);
+        });
     }
 
     @GetMapping("/specialization/{specialization}")
     @Operation(summary = "Get doctors by specialization", description = "Retrieves all doctors with a specific specialization")
-    public ResponseEntity<ApiResponse<List<DoctorDTO>>> getDoctorsBySpecialization(@Parameter(description = "Doctor specialization") @PathVariable String specialization) {
-        List<DoctorDTO> doctors = doctorService.getDoctorsBySpecialization(specialization);
-        ApiResponse<List<DoctorDTO>> response = ApiResponse.success("Retrieved " + doctors.size() + " doctors with specialization: " + specialization, doctors);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ApiResponse<List<DoctorDTO>>> getDoctorsBySpecialization(@Parameter(description = "Doctor specialization") @PathVariable String specialization, WebRequest webRequest) {
+        return staleResponseHandler.execute("doctors|" + specialization, resourceVersionService.directoryTag(), webRequest, () -> {
+            List<DoctorDTO> doctors = doctorService.getDoctorsBySpecialization(specialization);
+            ApiResponse<List<DoctorDTO>> response = ApiResponse.success("Retrieved " + doctors.size() + " doctors with specialization: " + specialization, doctors);
+            return ResponseEntity.ok(response);
+        });
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search doctors", description = "Search doctors by name or specialization keyword")
-    public ResponseEntity<ApiResponse<List<DoctorDTO>>> searchDoctors(@Parameter(description = "Search keyword") @RequestParam String keyword) {
+    public ResponseEntity<ApiResponse<List<DoctorDTO>>> searchDoctors(@Parameter(description = "Search keyword") @RequestParam String keyword, WebRequest webRequest) {
+        if (webRequest.checkNotModified(resourceVersionService.directoryTag())) {
+            return null;
+        }
         List<DoctorDTO> doctors = doctorService.searchDoctorsByKeyword(keyword);
         ApiResponse<List<DoctorDTO>> response = ApiResponse.success("Found " + doctors.size() + " doctors matching keyword: " + keyword, doctors);
         return ResponseEntity.ok(response);
@@ -67,7 +98,10 @@ public class DoctorController {
 
     @GetMapping("/specializations")
     @Operation(summary = "Get all specializations", description = "Retrieves a list of all available doctor specializations")
-    public ResponseEntity<ApiResponse<List<String>>> getAllSpecializations() {
+    public ResponseEntity<ApiResponse<List<String>>> getAllSpecializations(WebRequest webRequest) {
+        if (webRequest.checkNotModified(resourceVersionService.directoryTag())) {
+            return null;
+        }
         List<String> specializations = doctorService.getAllSpecializations();
         ApiResponse<List<String>> response = ApiResponse.success("Retrieved " + specializations.size() + " specializations", specializations);
         return ResponseEntity.ok(response);
@@ -0,0 +1,31 @@
+package com.appointment.booking.controller;
+
+import com.appointment.booking.dto.ApiResponse;
+import com.appointment.booking.dto.HeavyHittersDTO;
+import com.appointment.booking.service.HeavyHitterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/metrics")
+@Tag(name = "Traffic Metrics", description = "APIs for inspecting request hot spots")
+public class HeavyHitterController {
+
+    private final HeavyHitterService heavyHitterService;
+
+    @Autowired
+    public HeavyHitterController(HeavyHitterService heavyHitterService) {
+        this.heavyHitterService = heavyHitterService;
+    }
+
+    @GetMapping("/heavy-hitters")
+    @Operation(summary = "Get heavy hitters", description = "Lists the most requested doctors and dates with their estimated counts, and the dates pinned in the free-slot index")
+    public ResponseEntity<ApiResponse<HeavyHittersDTO>> getHeavyHitters() {
+        HeavyHittersDTO heavyHitters = heavyHitterService.getHeavyHitters();
+        ApiResponse<HeavyHittersDTO> response = ApiResponse.success("Heavy hitters retrieved successfully", heavyHitters);
+        return ResponseEntity.ok(response);
+    }
+}
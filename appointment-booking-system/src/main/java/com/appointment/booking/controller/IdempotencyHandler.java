@@ -0,0 +1,148 @@
+package com.appointment.booking.controller;
+
+import com.appointment.booking.exception.BadRequestException;
+import com.appointment.booking.exception.ConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Replays the stored response for requests that repeat an Idempotency-Key. Entries are
+ * bounded in number and evicted by age in insertion order; duplicates that arrive while
+ * the first request is still running wait for its result instead of executing again.
+ * Failed executions are not stored, so the client can retry them.
+ */
+@Component
+public class IdempotencyHandler {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long waitMillis;
+    private final Counter replayedCounter;
+    private final Counter coalescedCounter;
+
+    @Autowired
+    public IdempotencyHandler(MeterRegistry meterRegistry,
+                              @Value("${idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${idempotency.ttl-minutes:60}") long ttlMinutes,
+                              @Value("${idempotency.in-flight-wait-ms:30000}") long waitMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        this.waitMillis = waitMillis;
+        this.replayedCounter = meterRegistry.counter("idempotency.replayed");
+        this.coalescedCounter = meterRegistry.counter("idempotency.coalesced");
+    }
+
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String scope, Object fingerprint,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > 255) {
+            throw new BadRequestException(HEADER + " must be at most 255 characters");
+        }
+
+        String storeKey = scope + '\n' + idempotencyKey;
+        Entry created = new Entry(storeKey, fingerprint);
+        Entry existing = entries.putIfAbsent(storeKey, created);
+        if (existing != null && existing.isExpired()) {
+            entries.remove(storeKey, existing);
+            existing = entries.putIfAbsent(storeKey, created);
+        }
+
+        if (existing == null) {
+            insertionOrder.add(created);
+            evict();
+            return run(created, action);
+        }
+
+        if (!Objects.equals(existing.fingerprint, fingerprint)) {
+            throw new BadRequestException(HEADER + " was already used for a different request");
+        }
+        if (!existing.result.isDone()) {
+            coalescedCounter.increment();
+        }
+        return replay(existing);
+    }
+
+    private <T> ResponseEntity<T> run(Entry entry, Supplier<ResponseEntity<T>> action) {
+        try {
+            ResponseEntity<T> response = action.get();
+            entry.result.complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            entries.remove(entry.storeKey, entry);
+            entry.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Entry entry) {
+        ResponseEntity<T> original;
+        try {
+            original = (ResponseEntity<T>) entry.result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new ConflictException("A request with this " + HEADER + " is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this " + HEADER + " is still in progress");
+        } catch (ExecutionException ex) {
+            // The original attempt failed; surface the same error to the coalesced duplicate
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+        replayedCounter.increment();
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    private void evict() {
+        Entry head;
+        while ((head = insertionOrder.peek()) != null && (entries.size() > maxEntries || head.isExpired())) {
+            if (insertionOrder.remove(head)) {
+                entries.remove(head.storeKey, head);
+            }
+        }
+    }
+
+    private final class Entry {
+
+        private final String storeKey;
+        private final Object fingerprint;
+        private final long createdNanos = System.nanoTime();
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(String storeKey, Object fingerprint) {
+            this.storeKey = storeKey;
+            this.fingerprint = fingerprint;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - createdNanos > ttlNanos;
+        }
+    }
+}
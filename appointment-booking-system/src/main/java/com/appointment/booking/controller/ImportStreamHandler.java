@@ -0,0 +1,109 @@
+package com.appointment.booking.controller;
+
+import com.appointment.booking.config.AsyncConfig;
+import com.appointment.booking.dto.ImportRowErrorDTO;
+import com.appointment.booking.dto.ImportSummaryDTO;
+import com.appointment.booking.exception.BadRequestException;
+import com.appointment.booking.exception.ServiceUnavailableException;
+import com.appointment.booking.util.ImportRecordReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Runs a bulk import on the import executor while the upload is still arriving, and
+ * streams the report back as newline-delimited JSON: one line per rejected row as soon as
+ * it is known, then a final line with the totals. A failure after the response has started
+ * is reported as a last line carrying an "error" field.
+ */
+@Component
+public class ImportStreamHandler {
+
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final Logger log = LoggerFactory.getLogger(ImportStreamHandler.class);
+
+    private final ObjectMapper objectMapper;
+    private final Executor importExecutor;
+    private final long timeoutMillis;
+
+    @Autowired
+    public ImportStreamHandler(ObjectMapper objectMapper,
+                               @Qualifier(AsyncConfig.IMPORT_EXECUTOR) Executor importExecutor,
+                               @Value("${bulk-import.timeout-ms:1800000}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.importExecutor = importExecutor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public ResponseEntity<ResponseBodyEmitter> execute(
+            MediaType contentType, InputStream input,
+            BiFunction<ImportRecordReader, Consumer<ImportRowErrorDTO>, ImportSummaryDTO> importer) {
+        ImportRecordReader reader = new ImportRecordReader(input, formatOf(contentType), objectMapper);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        try {
+            importExecutor.execute(() -> run(reader, emitter, importer));
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceUnavailableException("Too many imports in progress, please retry shortly");
+        }
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(emitter);
+    }
+
+    private void run(ImportRecordReader reader, ResponseBodyEmitter emitter,
+                     BiFunction<ImportRecordReader, Consumer<ImportRowErrorDTO>, ImportSummaryDTO> importer) {
+        try {
+            ImportSummaryDTO summary = importer.apply(reader, error -> send(emitter, error));
+            send(emitter, summary);
+            emitter.complete();
+        } catch (UncheckedIOException ex) {
+            // The client went away mid-upload; there is nobody left to report to
+            log.debug("Import aborted: {}", ex.getMessage());
+            emitter.completeWithError(ex);
+        } catch (RuntimeException ex) {
+            log.warn("Import failed", ex);
+            try {
+                send(emitter, Map.of("error", String.valueOf(ex.getMessage())));
+                emitter.complete();
+            } catch (UncheckedIOException sendFailure) {
+                emitter.completeWithError(ex);
+            }
+        }
+    }
+
+    private void send(ResponseBodyEmitter emitter, Object line) {
+        try {
+            emitter.send(objectMapper.writeValueAsString(line) + "\n", MediaType.TEXT_PLAIN);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize import report line", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static ImportRecordReader.Format formatOf(MediaType contentType) {
+        if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(CSV))) {
+            return ImportRecordReader.Format.CSV;
+        }
+        if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(NDJSON))) {
+            return ImportRecordReader.Format.NDJSON;
+        }
+        throw new BadRequestException("Upload must be " + CSV + " or " + NDJSON);
+    }
+}
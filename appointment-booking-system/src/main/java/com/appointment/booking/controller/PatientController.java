@@ -8,9 +8,13 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -19,10 +23,12 @@ import java.util.List;
 public class PatientController {
 
     private final PatientService patientService;
+    private final ImportStreamHandler importStreamHandler;
 
     @Autowired
-    public PatientController(PatientService patientService) {
+    public PatientController(PatientService patientService, ImportStreamHandler importStreamHandler) {
         this.patientService = patientService;
+        this.importStreamHandler = importStreamHandler;
     }
 
     @PostMapping
@@ -33,6 +39,14 @@ public class PatientController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {ImportStreamHandler.CSV, ImportStreamHandler.NDJSON})
+    @Operation(summary = "Bulk import patients",
+               description = "Streams a CSV (name,email,phone header) or NDJSON upload into the patient table and streams back an NDJSON report of rejected rows followed by totals")
+    public ResponseEntity<ResponseBodyEmitter> importPatients(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                              InputStream body) {
+        return importStreamHandler.execute(contentType, body, patientService::importPatients);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get patient by ID", description = "Retrieves a patient by their unique identifier")
     public ResponseEntity<ApiResponse<PatientDTO>> getPatientById(@Parameter(description = "Patient ID") @PathVariable Long id) {
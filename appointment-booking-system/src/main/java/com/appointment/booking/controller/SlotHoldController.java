@@ -0,0 +1,65 @@
+package com.appointment.booking.controller;
+
+import com.appointment.booking.dto.ApiResponse;
+import com.appointment.booking.dto.AppointmentDTO;
+import com.appointment.booking.dto.SlotHoldDTO;
+import com.appointment.booking.dto.SlotHoldRequest;
+import com.appointment.booking.service.AppointmentService;
+import com.appointment.booking.service.SlotHoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/holds")
+@Tag(name = "Slot Holds", description = "APIs for temporarily reserving a slot before booking")
+public class SlotHoldController {
+
+    private final SlotHoldService slotHoldService;
+    private final AppointmentService appointmentService;
+
+    @Autowired
+    public SlotHoldController(SlotHoldService slotHoldService, AppointmentService appointmentService) {
+        this.slotHoldService = slotHoldService;
+        this.appointmentService = appointmentService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Hold a slot", description = "Temporarily reserves an available slot for a patient while they complete checkout")
+    public ResponseEntity<ApiResponse<SlotHoldDTO>> holdSlot(@Valid @RequestBody SlotHoldRequest slotHoldRequest) {
+        SlotHoldDTO hold = slotHoldService.holdSlot(slotHoldRequest);
+        ApiResponse<SlotHoldDTO> response = ApiResponse.success("Slot held successfully", hold);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{holdId}")
+    @Operation(summary = "Get slot hold", description = "Retrieves an active slot hold")
+    public ResponseEntity<ApiResponse<SlotHoldDTO>> getHold(@Parameter(description = "Hold ID") @PathVariable String holdId) {
+        SlotHoldDTO hold = slotHoldService.getHold(holdId);
+        ApiResponse<SlotHoldDTO> response = ApiResponse.success("Slot hold retrieved successfully", hold);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{holdId}/confirm")
+    @Operation(summary = "Confirm slot hold", description = "Books the held slot as an appointment and releases the hold")
+    public ResponseEntity<ApiResponse<AppointmentDTO>> confirmHold(
+            @Parameter(description = "Hold ID") @PathVariable String holdId,
+            @Parameter(description = "Notes") @RequestParam(required = false) String notes) {
+        AppointmentDTO bookedAppointment = appointmentService.confirmHold(holdId, notes);
+        ApiResponse<AppointmentDTO> response = ApiResponse.success("Appointment booked successfully", bookedAppointment);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{holdId}")
+    @Operation(summary = "Release slot hold", description = "Releases a slot hold so others can book the slot")
+    public ResponseEntity<ApiResponse<Void>> releaseHold(@Parameter(description = "Hold ID") @PathVariable String holdId) {
+        slotHoldService.releaseHold(holdId);
+        ApiResponse<Void> response = ApiResponse.success("Slot hold released successfully");
+        return ResponseEntity.ok(response);
+    }
+}
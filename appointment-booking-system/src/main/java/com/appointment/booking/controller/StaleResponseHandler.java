@@ -0,0 +1,151 @@
+package com.appointment.booking.controller;
+
+import com.appointment.booking.config.AsyncConfig;
+import com.appointment.booking.config.DatabaseLoadMonitor;
+import com.appointment.booking.config.LaneRoutingDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Stale-while-revalidate for read endpoints. The last successful response of each key is
+ * kept together with the version tag it was computed under. While the database pool is
+ * saturated, a read whose tag has moved on is answered from that response, marked with
+ * Age and a 110 Warning, and a single background refresh per key recomputes it. In normal
+ * operation reads go straight to the service and only refresh the stored response. Stored
+ * responses are always computed on the primary, never on a replica that may lag the tag.
+ */
+@Component
+public class StaleResponseHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleResponseHandler.class);
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private final DatabaseLoadMonitor databaseLoadMonitor;
+    private final Executor refreshExecutor;
+    private final long maxStaleNanos;
+    private final Map<String, Entry> entries;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Counter staleCounter;
+    private final Counter refreshCounter;
+
+    @Autowired
+    public StaleResponseHandler(DatabaseLoadMonitor databaseLoadMonitor,
+                                @Qualifier(AsyncConfig.REFRESH_EXECUTOR) Executor refreshExecutor,
+                                MeterRegistry meterRegistry,
+                                @Value("${stale-serving.max-stale-seconds:300}") long maxStaleSeconds,
+                                @Value("${stale-serving.max-entries:1000}") int maxEntries) {
+        this.databaseLoadMonitor = databaseLoadMonitor;
+        this.refreshExecutor = refreshExecutor;
+        this.maxStaleNanos = TimeUnit.SECONDS.toNanos(maxStaleSeconds);
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.staleCounter = meterRegistry.counter("stale.responses.served");
+        this.refreshCounter = meterRegistry.counter("stale.responses.refreshed");
+    }
+
+    /**
+     * Answers a conditional read for the given version tag, serving the stored response
+     * when the database is overloaded. Returns null when the client's copy is current.
+     */
+    public <T> ResponseEntity<T> execute(String key, String tag, WebRequest webRequest,
+                                         Supplier<ResponseEntity<T>> action) {
+        Entry cached = entries.get(key);
+        if (cached != null && cached.age() <= maxStaleNanos && databaseLoadMonitor.isOverloaded()) {
+            if (cached.tag.equals(tag)) {
+                return webRequest.checkNotModified(tag) ? null : cached.response();
+            }
+            refresh(key, tag, action);
+            if (webRequest.checkNotModified(cached.tag)) {
+                return null;
+            }
+            staleCounter.increment();
+            return stale(cached);
+        }
+
+        if (webRequest.checkNotModified(tag)) {
+            return null;
+        }
+        return store(key, tag, LaneRoutingDataSource.onPrimary(action));
+    }
+
+    private <T> void refresh(String key, String tag, Supplier<ResponseEntity<T>> action) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    store(key, tag, LaneRoutingDataSource.onPrimary(action));
+                    refreshCounter.increment();
+                } catch (RuntimeException ex) {
+                    log.debug("Background refresh of {} failed: {}", key, ex.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Queue full: keep serving the stale copy and let a later read try again
+            refreshing.remove(key);
+            log.debug("Background refresh of {} rejected: {}", key, ex.getMessage());
+        }
+    }
+
+    private <T> ResponseEntity<T> store(String key, String tag, ResponseEntity<T> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            entries.put(key, new Entry(tag, response));
+        }
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> stale(Entry entry) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(entry.response.getHeaders());
+        headers.set(HttpHeaders.AGE, Long.toString(TimeUnit.NANOSECONDS.toSeconds(entry.age())));
+        headers.set(HttpHeaders.WARNING, STALE_WARNING);
+        return new ResponseEntity<>((T) entry.response.getBody(), headers, entry.response.getStatusCode());
+    }
+
+    private static final class Entry {
+
+        private final String tag;
+        private final ResponseEntity<?> response;
+        private final long computedNanos = System.nanoTime();
+
+        private Entry(String tag, ResponseEntity<?> response) {
+            this.tag = tag;
+            this.response = response;
+        }
+
+        private long age() {
+            return System.nanoTime() - computedNanos;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> ResponseEntity<T> response() {
+            return (ResponseEntity<T>) response;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.appointment.booking.controller;
+
+import com.appointment.booking.dto.ApiResponse;
+import com.appointment.booking.dto.WaitlistEntryDTO;
+import com.appointment.booking.dto.WaitlistRequest;
+import com.appointment.booking.service.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@Tag(name = "Waitlist", description = "APIs for waiting on slots freed by cancellations")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @Autowired
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Join the waitlist", description = "Registers interest in a doctor or specialization over a date range; freed slots are auto-booked or offered as a hold")
+    public ResponseEntity<ApiResponse<WaitlistEntryDTO>> joinWaitlist(@Valid @RequestBody WaitlistRequest waitlistRequest) {
+        WaitlistEntryDTO entry = waitlistService.joinWaitlist(waitlistRequest);
+        ApiResponse<WaitlistEntryDTO> response = ApiResponse.success("Joined waitlist successfully", entry);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get waitlist entry", description = "Retrieves a waitlist entry, including any offered hold or booked appointment")
+    public ResponseEntity<ApiResponse<WaitlistEntryDTO>> getWaitlistEntryById(@Parameter(description = "Waitlist entry ID") @PathVariable Long id) {
+        WaitlistEntryDTO entry = waitlistService.getWaitlistEntryById(id);
+        ApiResponse<WaitlistEntryDTO> response = ApiResponse.success("Waitlist entry retrieved successfully", entry);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/patient/{patientId}")
+    @Operation(summary = "Get patient waitlist entries", description = "Retrieves all waitlist entries for a patient")
+    public ResponseEntity<ApiResponse<List<WaitlistEntryDTO>>> getWaitlistEntriesByPatient(@Parameter(description = "Patient ID") @PathVariable Long patientId) {
+        List<WaitlistEntryDTO> entries = waitlistService.getWaitlistEntriesByPatient(patientId);
+        ApiResponse<List<WaitlistEntryDTO>> response = ApiResponse.success("Retrieved " + entries.size() + " waitlist entries", entries);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Leave the waitlist", description = "Cancels a waiting waitlist entry")
+    public ResponseEntity<ApiResponse<WaitlistEntryDTO>> cancelWaitlistEntry(@Parameter(description = "Waitlist entry ID") @PathVariable Long id) {
+        WaitlistEntryDTO entry = waitlistService.cancelWaitlistEntry(id);
+        ApiResponse<WaitlistEntryDTO> response = ApiResponse.success("Waitlist entry canceled successfully", entry);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,65 @@
+package com.appointment.booking.dto;
+
+import com.appointment.booking.entity.Appointment.AppointmentStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Appointment columns without the patient and doctor details, which a normalized
+ * response carries once per entity in its side-loaded dictionaries.
+ */
+public class AppointmentRowDTO {
+
+    private Long id;
+    private Long patientId;
+    private Long doctorId;
+    private Long availabilityId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private AppointmentStatus status;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public AppointmentRowDTO() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public Long getAvailabilityId() { return availabilityId; }
+    public void setAvailabilityId(Long availabilityId) { this.availabilityId = availabilityId; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+
+    public AppointmentStatus getStatus() { return status; }
+    public void setStatus(AppointmentStatus status) { this.status = status; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
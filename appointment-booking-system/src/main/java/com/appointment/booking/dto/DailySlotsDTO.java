@@ -0,0 +1,27 @@
+package com.appointment.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DailySlotsDTO {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    private List<SlotDTO> slots = new ArrayList<>();
+
+    public DailySlotsDTO() {}
+
+    public DailySlotsDTO(LocalDate date) {
+        this.date = date;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public List<SlotDTO> getSlots() { return slots; }
+    public void setSlots(List<SlotDTO> slots) { this.slots = slots; }
+}
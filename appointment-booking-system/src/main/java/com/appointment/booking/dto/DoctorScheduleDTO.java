@@ -0,0 +1,46 @@
+package com.appointment.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A doctor's slots over a date range, grouped by day. Doctor details appear once here
+ * instead of on every slot; days without slots are omitted.
+ */
+public class DoctorScheduleDTO {
+
+    private Long doctorId;
+    private String doctorName;
+    private String specialization;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate fromDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate toDate;
+
+    private List<DailySlotsDTO> days = new ArrayList<>();
+
+    public DoctorScheduleDTO() {}
+
+    // Getters and Setters
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public String getDoctorName() { return doctorName; }
+    public void setDoctorName(String doctorName) { this.doctorName = doctorName; }
+
+    public String getSpecialization() { return specialization; }
+    public void setSpecialization(String specialization) { this.specialization = specialization; }
+
+    public LocalDate getFromDate() { return fromDate; }
+    public void setFromDate(LocalDate fromDate) { this.fromDate = fromDate; }
+
+    public LocalDate getToDate() { return toDate; }
+    public void setToDate(LocalDate toDate) { this.toDate = toDate; }
+
+    public List<DailySlotsDTO> getDays() { return days; }
+    public void setDays(List<DailySlotsDTO> days) { this.days = days; }
+}
@@ -0,0 +1,21 @@
+package com.appointment.booking.dto;
+
+public class DoctorSummaryDTO {
+
+    private String name;
+    private String specialization;
+
+    public DoctorSummaryDTO() {}
+
+    public DoctorSummaryDTO(String name, String specialization) {
+        this.name = name;
+        this.specialization = specialization;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getSpecialization() { return specialization; }
+    public void setSpecialization(String specialization) { this.specialization = specialization; }
+}
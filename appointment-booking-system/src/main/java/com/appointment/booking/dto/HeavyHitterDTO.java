@@ -0,0 +1,26 @@
+package com.appointment.booking.dto;
+
+public class HeavyHitterDTO {
+
+    private String key;
+    private Long count;
+    private Long error;
+
+    public HeavyHitterDTO() {}
+
+    public HeavyHitterDTO(String key, Long count, Long error) {
+        this.key = key;
+        this.count = count;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public Long getCount() { return count; }
+    public void setCount(Long count) { this.count = count; }
+
+    public Long getError() { return error; }
+    public void setError(Long error) { this.error = error; }
+}
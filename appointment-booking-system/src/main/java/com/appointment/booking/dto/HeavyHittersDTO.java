@@ -0,0 +1,30 @@
+package com.appointment.booking.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+public class HeavyHittersDTO {
+
+    private List<HeavyHitterDTO> doctors;
+    private List<HeavyHitterDTO> dates;
+    private Set<LocalDate> pinnedDates;
+
+    public HeavyHittersDTO() {}
+
+    public HeavyHittersDTO(List<HeavyHitterDTO> doctors, List<HeavyHitterDTO> dates, Set<LocalDate> pinnedDates) {
+        this.doctors = doctors;
+        this.dates = dates;
+        this.pinnedDates = pinnedDates;
+    }
+
+    // Getters and Setters
+    public List<HeavyHitterDTO> getDoctors() { return doctors; }
+    public void setDoctors(List<HeavyHitterDTO> doctors) { this.doctors = doctors; }
+
+    public List<HeavyHitterDTO> getDates() { return dates; }
+    public void setDates(List<HeavyHitterDTO> dates) { this.dates = dates; }
+
+    public Set<LocalDate> getPinnedDates() { return pinnedDates; }
+    public void setPinnedDates(Set<LocalDate> pinnedDates) { this.pinnedDates = pinnedDates; }
+}
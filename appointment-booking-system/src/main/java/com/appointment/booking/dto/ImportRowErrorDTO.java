@@ -0,0 +1,23 @@
+package com.appointment.booking.dto;
+
+import java.util.Map;
+
+public class ImportRowErrorDTO {
+
+    private long line;
+    private Map<String, String> errors;
+
+    public ImportRowErrorDTO() {}
+
+    public ImportRowErrorDTO(long line, Map<String, String> errors) {
+        this.line = line;
+        this.errors = errors;
+    }
+
+    // Getters and Setters
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+
+    public Map<String, String> getErrors() { return errors; }
+    public void setErrors(Map<String, String> errors) { this.errors = errors; }
+}
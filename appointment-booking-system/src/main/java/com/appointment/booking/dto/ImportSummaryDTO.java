@@ -0,0 +1,26 @@
+package com.appointment.booking.dto;
+
+public class ImportSummaryDTO {
+
+    private long total;
+    private long imported;
+    private long rejected;
+
+    public ImportSummaryDTO() {}
+
+    public ImportSummaryDTO(long total, long imported, long rejected) {
+        this.total = total;
+        this.imported = imported;
+        this.rejected = rejected;
+    }
+
+    // Getters and Setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+}
@@ -0,0 +1,29 @@
+package com.appointment.booking.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Side-loaded appointment list: rows reference patients and doctors by ID, and each
+ * referenced patient and doctor appears exactly once in the dictionaries keyed by that ID.
+ */
+public class NormalizedAppointmentsDTO {
+
+    private List<AppointmentRowDTO> appointments = new ArrayList<>();
+    private Map<Long, PatientSummaryDTO> patients = new LinkedHashMap<>();
+    private Map<Long, DoctorSummaryDTO> doctors = new LinkedHashMap<>();
+
+    public NormalizedAppointmentsDTO() {}
+
+    // Getters and Setters
+    public List<AppointmentRowDTO> getAppointments() { return appointments; }
+    public void setAppointments(List<AppointmentRowDTO> appointments) { this.appointments = appointments; }
+
+    public Map<Long, PatientSummaryDTO> getPatients() { return patients; }
+    public void setPatients(Map<Long, PatientSummaryDTO> patients) { this.patients = patients; }
+
+    public Map<Long, DoctorSummaryDTO> getDoctors() { return doctors; }
+    public void setDoctors(Map<Long, DoctorSummaryDTO> doctors) { this.doctors = doctors; }
+}
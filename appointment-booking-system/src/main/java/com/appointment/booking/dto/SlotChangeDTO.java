@@ -0,0 +1,53 @@
+package com.appointment.booking.dto;
+
+import com.appointment.booking.event.AvailabilityChangedEvent.ChangeType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class SlotChangeDTO {
+
+    private ChangeType changeType;
+    private Long availabilityId;
+    private Long doctorId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime startTime;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime endTime;
+
+    private Boolean isAvailable;
+
+    public SlotChangeDTO() {}
+
+    // Getters and Setters
+    public ChangeType getChangeType() { return changeType; }
+    public void setChangeType(ChangeType changeType) { this.changeType = changeType; }
+
+    public Long getAvailabilityId() { return availabilityId; }
+    public void setAvailabilityId(Long availabilityId) { this.availabilityId = availabilityId; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+
+    public Boolean getIsAvailable() { return isAvailable; }
+    public void setIsAvailable(Boolean isAvailable) { this.isAvailable = isAvailable; }
+
+    @Override
+    public String toString() {
+        return "SlotChangeDTO{changeType=" + changeType + ", availabilityId=" + availabilityId + "}";
+    }
+}
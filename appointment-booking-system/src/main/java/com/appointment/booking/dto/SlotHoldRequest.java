@@ -0,0 +1,41 @@
+package com.appointment.booking.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class SlotHoldRequest {
+
+    @NotNull(message = "Patient ID is required")
+    private Long patientId;
+
+    @NotNull(message = "Availability ID is required")
+    private Long availabilityId;
+
+    @Min(value = 1, message = "Hold must last at least 1 minute")
+    @Max(value = 30, message = "Hold cannot last more than 30 minutes")
+    private Integer holdMinutes;
+
+    public SlotHoldRequest() {}
+
+    public SlotHoldRequest(Long patientId, Long availabilityId, Integer holdMinutes) {
+        this.patientId = patientId;
+        this.availabilityId = availabilityId;
+        this.holdMinutes = holdMinutes;
+    }
+
+    // Getters and Setters
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public Long getAvailabilityId() { return availabilityId; }
+    public void setAvailabilityId(Long availabilityId) { this.availabilityId = availabilityId; }
+
+    public Integer getHoldMinutes() { return holdMinutes; }
+    public void setHoldMinutes(Integer holdMinutes) { this.holdMinutes = holdMinutes; }
+
+    @Override
+    public String toString() {
+        return "SlotHoldRequest{patientId=" + patientId + ", availabilityId=" + availabilityId + ", holdMinutes=" + holdMinutes + "}";
+    }
+}
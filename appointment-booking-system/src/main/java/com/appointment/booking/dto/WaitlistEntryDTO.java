@@ -0,0 +1,71 @@
+package com.appointment.booking.dto;
+
+import com.appointment.booking.entity.WaitlistEntry.WaitlistStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class WaitlistEntryDTO {
+
+    private Long id;
+    private Long patientId;
+    private Long doctorId;
+    private String specialization;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate fromDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate toDate;
+
+    private boolean autoBook;
+    private WaitlistStatus status;
+    private String offeredHoldId;
+    private Long appointmentId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public WaitlistEntryDTO() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public String getSpecialization() { return specialization; }
+    public void setSpecialization(String specialization) { this.specialization = specialization; }
+
+    public LocalDate getFromDate() { return fromDate; }
+    public void setFromDate(LocalDate fromDate) { this.fromDate = fromDate; }
+
+    public LocalDate getToDate() { return toDate; }
+    public void setToDate(LocalDate toDate) { this.toDate = toDate; }
+
+    public boolean isAutoBook() { return autoBook; }
+    public void setAutoBook(boolean autoBook) { this.autoBook = autoBook; }
+
+    public WaitlistStatus getStatus() { return status; }
+    public void setStatus(WaitlistStatus status) { this.status = status; }
+
+    public String getOfferedHoldId() { return offeredHoldId; }
+    public void setOfferedHoldId(String offeredHoldId) { this.offeredHoldId = offeredHoldId; }
+
+    public Long getAppointmentId() { return appointmentId; }
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntryDTO{id=" + id + ", patientId=" + patientId + ", status=" + status + "}";
+    }
+}
@@ -0,0 +1,50 @@
+package com.appointment.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+public class WaitlistRequest {
+
+    @NotNull(message = "Patient ID is required")
+    private Long patientId;
+
+    private Long doctorId;
+    private String specialization;
+
+    @NotNull(message = "From date is required")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate fromDate;
+
+    @NotNull(message = "To date is required")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate toDate;
+
+    private boolean autoBook;
+
+    public WaitlistRequest() {}
+
+    // Getters and Setters
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public String getSpecialization() { return specialization; }
+    public void setSpecialization(String specialization) { this.specialization = specialization; }
+
+    public LocalDate getFromDate() { return fromDate; }
+    public void setFromDate(LocalDate fromDate) { this.fromDate = fromDate; }
+
+    public LocalDate getToDate() { return toDate; }
+    public void setToDate(LocalDate toDate) { this.toDate = toDate; }
+
+    public boolean isAutoBook() { return autoBook; }
+    public void setAutoBook(boolean autoBook) { this.autoBook = autoBook; }
+
+    @Override
+    public String toString() {
+        return "WaitlistRequest{patientId=" + patientId + ", doctorId=" + doctorId + ", specialization='" + specialization + "'}";
+    }
+}
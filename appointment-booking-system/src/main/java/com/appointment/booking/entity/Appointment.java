@@ -7,7 +7,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "appointments", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"availability_id", "date"})
+    @UniqueConstraint(columnNames = {"booked_availability_id", "date"})
 })
 public class Appointment {
 
@@ -38,6 +38,10 @@ public class Appointment {
     @Column(name = "notes", length = 500)
     private String notes;
 
+    // Mirrors availability_id only while BOOKED, so a canceled slot can be booked again
+    @Column(name = "booked_availability_id")
+    private Long bookedAvailabilityId;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -57,11 +61,17 @@ public class Appointment {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        syncBookedAvailabilityId();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        syncBookedAvailabilityId();
+    }
+
+    private void syncBookedAvailabilityId() {
+        bookedAvailabilityId = status == AppointmentStatus.BOOKED && availability != null ? availability.getId() : null;
     }
 
     // Getters and Setters
@@ -86,6 +96,8 @@ public class Appointment {
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
 
+    public Long getBookedAvailabilityId() { return bookedAvailabilityId; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
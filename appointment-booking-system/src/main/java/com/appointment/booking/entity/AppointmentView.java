@@ -0,0 +1,129 @@
+package com.appointment.booking.entity;
+
+import com.appointment.booking.entity.Appointment.AppointmentStatus;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Denormalized read model of an appointment. Holds exactly the columns exposed by
+ * AppointmentDTO so list endpoints can be served from a single indexed table without
+ * touching patients, doctors or availabilities. Maintained by AppointmentViewService.
+ */
+@Entity
+@Table(name = "appointment_view", indexes = {
+    @Index(name = "idx_appointment_view_patient", columnList = "patient_id, date"),
+    @Index(name = "idx_appointment_view_patient_status", columnList = "patient_id, status"),
+    @Index(name = "idx_appointment_view_doctor", columnList = "doctor_id, date"),
+    @Index(name = "idx_appointment_view_doctor_status", columnList = "doctor_id, status"),
+    @Index(name = "idx_appointment_view_availability", columnList = "availability_id")
+})
+public class AppointmentView {
+
+    @Id
+    @Column(name = "appointment_id")
+    private Long id;
+
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+
+    @Column(name = "patient_name", length = 100)
+    private String patientName;
+
+    @Column(name = "patient_email", length = 150)
+    private String patientEmail;
+
+    @Column(name = "patient_phone", length = 15)
+    private String patientPhone;
+
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Column(name = "doctor_name", length = 100)
+    private String doctorName;
+
+    @Column(name = "doctor_specialization", length = 100)
+    private String doctorSpecialization;
+
+    @Column(name = "availability_id", nullable = false)
+    private Long availabilityId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+    @Column(name = "end_time")
+    private LocalTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AppointmentStatus status;
+
+    @Column(name = "notes", length = 500)
+    private String notes;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public AppointmentView() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public String getPatientName() { return patientName; }
+    public void setPatientName(String patientName) { this.patientName = patientName; }
+
+    public String getPatientEmail() { return patientEmail; }
+    public void setPatientEmail(String patientEmail) { this.patientEmail = patientEmail; }
+
+    public String getPatientPhone() { return patientPhone; }
+    public void setPatientPhone(String patientPhone) { this.patientPhone = patientPhone; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public String getDoctorName() { return doctorName; }
+    public void setDoctorName(String doctorName) { this.doctorName = doctorName; }
+
+    public String getDoctorSpecialization() { return doctorSpecialization; }
+    public void setDoctorSpecialization(String doctorSpecialization) { this.doctorSpecialization = doctorSpecialization; }
+
+    public Long getAvailabilityId() { return availabilityId; }
+    public void setAvailabilityId(Long availabilityId) { this.availabilityId = availabilityId; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+
+    public AppointmentStatus getStatus() { return status; }
+    public void setStatus(AppointmentStatus status) { this.status = status; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @Override
+    public String toString() {
+        return "AppointmentView{id=" + id + ", patientId=" + patientId + ", doctorId=" + doctorId + ", date=" + date + "}";
+    }
+}
@@ -2,11 +2,14 @@ package com.appointment.booking.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "doctors")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Doctor {
 
     @Id
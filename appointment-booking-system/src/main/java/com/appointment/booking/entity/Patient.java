@@ -4,11 +4,19 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "patients")
+@Table(name = "patients", indexes = {
+    @Index(name = "idx_patients_phone", columnList = "phone")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 public class Patient {
 
     @Id
@@ -21,6 +29,7 @@ public class Patient {
 
     @Email(message = "Invalid email format")
     @NotBlank(message = "Email is required")
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 150)
     private String email;
 
@@ -0,0 +1,114 @@
+package com.appointment.booking.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+    @Index(name = "idx_waitlist_entries_patient", columnList = "patient_id"),
+    @Index(name = "idx_waitlist_entries_status", columnList = "status")
+})
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id", nullable = false)
+    private Patient patient;
+
+    @Column(name = "doctor_id")
+    private Long doctorId;
+
+    @Column(length = 100)
+    private String specialization;
+
+    @NotNull(message = "From date is required")
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate;
+
+    @NotNull(message = "To date is required")
+    @Column(name = "to_date", nullable = false)
+    private LocalDate toDate;
+
+    @Column(name = "auto_book", nullable = false)
+    private boolean autoBook;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    @Column(name = "offered_hold_id", length = 36)
+    private String offeredHoldId;
+
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public WaitlistEntry() {}
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Patient getPatient() { return patient; }
+    public void setPatient(Patient patient) { this.patient = patient; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public String getSpecialization() { return specialization; }
+    public void setSpecialization(String specialization) { this.specialization = specialization; }
+
+    public LocalDate getFromDate() { return fromDate; }
+    public void setFromDate(LocalDate fromDate) { this.fromDate = fromDate; }
+
+    public LocalDate getToDate() { return toDate; }
+    public void setToDate(LocalDate toDate) { this.toDate = toDate; }
+
+    public boolean isAutoBook() { return autoBook; }
+    public void setAutoBook(boolean autoBook) { this.autoBook = autoBook; }
+
+    public WaitlistStatus getStatus() { return status; }
+    public void setStatus(WaitlistStatus status) { this.status = status; }
+
+    public String getOfferedHoldId() { return offeredHoldId; }
+    public void setOfferedHoldId(String offeredHoldId) { this.offeredHoldId = offeredHoldId; }
+
+    public Long getAppointmentId() { return appointmentId; }
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry{id=" + id + ", doctorId=" + doctorId + ", specialization='" + specialization + "', status=" + status + "}";
+    }
+
+    // Enum for Waitlist Status
+    public enum WaitlistStatus {
+        WAITING, OFFERED, BOOKED, CANCELED, EXPIRED
+    }
+}
@@ -0,0 +1,49 @@
+package com.appointment.booking.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published through Spring's ApplicationEventPublisher whenever a slot is created,
+ * changed, removed, booked or released. Listeners that need the committed state should
+ * use TransactionalEventListener.
+ */
+public class AvailabilityChangedEvent {
+
+    private final ChangeType changeType;
+    private final Long availabilityId;
+    private final Long doctorId;
+    private final LocalDate date;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final Boolean isAvailable;
+
+    public AvailabilityChangedEvent(ChangeType changeType, Long availabilityId, Long doctorId, LocalDate date,
+                                    LocalTime startTime, LocalTime endTime, Boolean isAvailable) {
+        this.changeType = changeType;
+        this.availabilityId = availabilityId;
+        this.doctorId = doctorId;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.isAvailable = isAvailable;
+    }
+
+    public ChangeType getChangeType() { return changeType; }
+    public Long getAvailabilityId() { return availabilityId; }
+    public Long getDoctorId() { return doctorId; }
+    public LocalDate getDate() { return date; }
+    public LocalTime getStartTime() { return startTime; }
+    public LocalTime getEndTime() { return endTime; }
+    public Boolean getIsAvailable() { return isAvailable; }
+
+    @Override
+    public String toString() {
+        return "AvailabilityChangedEvent{changeType=" + changeType + ", availabilityId=" + availabilityId + "}";
+    }
+
+    // Enum for Availability Change Type
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, BOOKED, RELEASED
+    }
+}
@@ -0,0 +1,67 @@
+package com.appointment.booking.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends each message as one NDJSON line. The writer is opened lazily so the file is
+ * only created when this sink is enabled.
+ */
+@Component
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private BufferedWriter writer;
+
+    public FileOutboxSink(@Value("${outbox.sink.file.path:outbox-events.ndjson}") String path,
+                          ObjectMapper objectMapper) {
+        this.path = Paths.get(path);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void publish(OutboxMessage message) throws IOException {
+        if (writer == null) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("id", message.getId());
+        line.put("eventType", message.getEventType().name());
+        line.put("aggregateType", message.getAggregateType());
+        line.put("aggregateId", message.getAggregateId());
+        line.put("partitionKey", message.getPartitionKey());
+        line.put("createdAt", message.getCreatedAt().toString());
+        line.set("payload", objectMapper.readTree(message.getPayload()));
+        writer.write(objectMapper.writeValueAsString(line));
+        writer.newLine();
+        writer.flush();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
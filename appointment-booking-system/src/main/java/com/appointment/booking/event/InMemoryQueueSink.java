@@ -0,0 +1,48 @@
+package com.appointment.booking.event;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded in-process queue for local consumers. A full queue rejects the message so
+ * the relay backs off and retries instead of dropping it.
+ */
+@Component
+public class InMemoryQueueSink implements OutboxSink {
+
+    private final BlockingQueue<OutboxMessage> queue;
+
+    public InMemoryQueueSink(@Value("${outbox.sink.memory.capacity:10000}") int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+
+    @Override
+    public void publish(OutboxMessage message) {
+        if (!queue.offer(message)) {
+            throw new IllegalStateException("Outbox memory queue is full");
+        }
+    }
+
+    public OutboxMessage poll() {
+        return queue.poll();
+    }
+
+    public List<OutboxMessage> drain(int maxMessages) {
+        List<OutboxMessage> messages = new ArrayList<>(Math.min(maxMessages, queue.size()));
+        queue.drainTo(messages, maxMessages);
+        return messages;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.appointment.booking.event;
+
+import java.time.LocalDate;
+
+/**
+ * One cache invalidation exchanged between nodes: the doctor directory, a single doctor,
+ * a doctor's slots on one date, or one patient (any patient when patientId is null). Equal
+ * invalidations collapse when batched.
+ */
+public record Invalidation(Scope scope, Long doctorId, LocalDate date, Long patientId) {
+
+    public enum Scope {
+        DIRECTORY, DOCTOR, SLOTS, PATIENT
+    }
+
+    public static Invalidation directory() {
+        return new Invalidation(Scope.DIRECTORY, null, null, null);
+    }
+
+    public static Invalidation doctor(Long doctorId) {
+        return new Invalidation(Scope.DOCTOR, doctorId, null, null);
+    }
+
+    public static Invalidation slots(Long doctorId, LocalDate date) {
+        return new Invalidation(Scope.SLOTS, doctorId, date, null);
+    }
+
+    public static Invalidation patient(Long patientId) {
+        return new Invalidation(Scope.PATIENT, null, null, patientId);
+    }
+
+    public static Invalidation patients() {
+        return new Invalidation(Scope.PATIENT, null, null, null);
+    }
+}
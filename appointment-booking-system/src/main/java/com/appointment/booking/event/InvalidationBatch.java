@@ -0,0 +1,14 @@
+package com.appointment.booking.event;
+
+import java.util.List;
+
+/**
+ * Invalidations one node committed during a flush interval, sent as a single message.
+ * sentAtMillis is wall-clock time on the sender, used to measure propagation lag.
+ */
+public record InvalidationBatch(String originNodeId, long sentAtMillis, List<Invalidation> invalidations) {
+
+    public InvalidationBatch {
+        invalidations = List.copyOf(invalidations);
+    }
+}
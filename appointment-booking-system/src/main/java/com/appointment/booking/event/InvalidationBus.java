@@ -0,0 +1,189 @@
+package com.appointment.booking.event;
+
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Patient;
+import com.appointment.booking.service.AvailabilityService;
+import com.appointment.booking.service.ResourceVersionService;
+import com.appointment.booking.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps in-process caches of other nodes in step with writes committed here. Committed
+ * doctor, slot and patient changes are collected, de-duplicated and sent as one batch per
+ * flush interval; batches from peers bump the local version counters and drop the affected
+ * free-slot partitions and second-level cache entries. Applying a peer's batch never
+ * publishes anything back. Flushing runs on its own thread, so slow scheduled jobs sharing
+ * Spring's scheduler cannot hold back peer invalidation.
+ */
+@Component
+public class InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private final String nodeId;
+    private final InvalidationTransport transport;
+    private final ResourceVersionService resourceVersionService;
+    private final AvailabilityService availabilityService;
+    private final Cache secondLevelCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Set<Invalidation> pending = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+    private final Counter publishedCounter;
+    private final Counter batchesSentCounter;
+    private final Counter receivedCounter;
+    private final Timer lagTimer;
+
+    @Autowired
+    public InvalidationBus(List<InvalidationTransport> availableTransports,
+                           ResourceVersionService resourceVersionService,
+                           AvailabilityService availabilityService,
+                           EntityManagerFactory entityManagerFactory,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${invalidation.transport:loopback}") String transportName,
+                           @Value("${invalidation.node-id:}") String nodeId,
+                           @Value("${invalidation.flush-ms:50}") long flushMillis) {
+        this.transport = availableTransports.stream()
+                .filter(candidate -> candidate.getName().equals(transportName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown invalidation transport: " + transportName));
+        this.resourceVersionService = resourceVersionService;
+        this.availabilityService = availabilityService;
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(Cache.class);
+        this.eventPublisher = eventPublisher;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.publishedCounter = meterRegistry.counter("invalidation.published");
+        this.batchesSentCounter = meterRegistry.counter("invalidation.batches.sent");
+        this.receivedCounter = meterRegistry.counter("invalidation.received");
+        this.lagTimer = Timer.builder("invalidation.lag")
+                .description("Time from a peer sending an invalidation batch to it being applied here")
+                .register(meterRegistry);
+        transport.subscribe(this::receive);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invalidation-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    public void doctorDirectoryChanged() {
+        publish(Invalidation.directory());
+    }
+
+    public void doctorChanged(Long doctorId) {
+        publish(Invalidation.doctor(doctorId));
+    }
+
+    public void patientChanged(Long patientId) {
+        publish(Invalidation.patient(patientId));
+    }
+
+    public void patientsImported() {
+        publish(Invalidation.patients());
+    }
+
+    // Already after commit, so the change is queued directly
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        if (pending.add(Invalidation.slots(event.getDoctorId(), event.getDate()))) {
+            publishedCounter.increment();
+        }
+    }
+
+    // A throwing task would cancel every later run of a scheduled executor
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Invalidation flush failed: {}", ex.getMessage());
+        }
+    }
+
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Invalidation> batch = new ArrayList<>(pending.size());
+        for (Invalidation invalidation : pending) {
+            if (pending.remove(invalidation)) {
+                batch.add(invalidation);
+            }
+        }
+        if (!batch.isEmpty()) {
+            transport.send(new InvalidationBatch(nodeId, System.currentTimeMillis(), batch));
+            batchesSentCounter.increment();
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void publish(Invalidation invalidation) {
+        TransactionCallbacks.afterCommit(() -> {
+            if (pending.add(invalidation)) {
+                publishedCounter.increment();
+            }
+        });
+    }
+
+    private void receive(InvalidationBatch batch) {
+        if (nodeId.equals(batch.originNodeId())) {
+            return;
+        }
+        for (Invalidation invalidation : batch.invalidations()) {
+            switch (invalidation.scope()) {
+                case DIRECTORY -> resourceVersionService.doctorDirectoryChanged();
+                case DOCTOR -> {
+                    secondLevelCache.evictEntityData(Doctor.class, invalidation.doctorId());
+                    resourceVersionService.doctorChanged(invalidation.doctorId());
+                    availabilityService.doctorChanged(invalidation.doctorId());
+                }
+                case SLOTS -> {
+                    resourceVersionService.slotsChanged(invalidation.doctorId(), invalidation.date());
+                    availabilityService.evictFreeSlots(invalidation.date());
+                }
+                case PATIENT -> {
+                    // The email may have changed, so the whole natural-id region is suspect
+                    if (invalidation.patientId() != null) {
+                        secondLevelCache.evictEntityData(Patient.class, invalidation.patientId());
+                    }
+                    secondLevelCache.evictNaturalIdData(Patient.class);
+                    secondLevelCache.evictDefaultQueryRegion();
+                    eventPublisher.publishEvent(new RemotePatientChangeEvent(invalidation.patientId()));
+                }
+            }
+        }
+        receivedCounter.increment(batch.invalidations().size());
+        lagTimer.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - batch.sentAtMillis())));
+    }
+}
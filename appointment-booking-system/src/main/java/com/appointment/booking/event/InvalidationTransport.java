@@ -0,0 +1,15 @@
+package com.appointment.booking.event;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries invalidation batches between application nodes. Delivery is best effort: a lost
+ * batch only leaves a peer serving slightly stale data until the entry changes again or
+ * is evicted, so transports need not retry.
+ */
+public interface InvalidationTransport {
+
+    String getName();
+    void send(InvalidationBatch batch);
+    void subscribe(Consumer<InvalidationBatch> receiver);
+}
@@ -0,0 +1,36 @@
+package com.appointment.booking.event;
+
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Stand-in for an embedded message broker: a single in-JVM topic that fans each
+ * message out to every registered subscriber on the relay thread.
+ */
+@Component
+public class LocalBrokerSink implements OutboxSink {
+
+    private final List<Consumer<OutboxMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String getName() {
+        return "broker";
+    }
+
+    @Override
+    public void publish(OutboxMessage message) {
+        for (Consumer<OutboxMessage> subscriber : subscribers) {
+            subscriber.accept(message);
+        }
+    }
+
+    public void subscribe(Consumer<OutboxMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<OutboxMessage> subscriber) {
+        subscribers.remove(subscriber);
+    }
+}
@@ -0,0 +1,59 @@
+package com.appointment.booking.event;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM transport. Receivers are registered JVM-wide, so several application contexts
+ * started in one process (for example in integration tests) behave as separate nodes.
+ * Batches are handed over on a separate thread, as a network transport would.
+ */
+@Component
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(LoopbackInvalidationTransport.class);
+    private static final List<Consumer<InvalidationBatch>> RECEIVERS = new CopyOnWriteArrayList<>();
+    private static final ExecutorService DELIVERY = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "invalidation-loopback");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<Consumer<InvalidationBatch>> ownReceivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String getName() {
+        return "loopback";
+    }
+
+    @Override
+    public void send(InvalidationBatch batch) {
+        DELIVERY.execute(() -> {
+            for (Consumer<InvalidationBatch> receiver : RECEIVERS) {
+                try {
+                    receiver.accept(batch);
+                } catch (RuntimeException ex) {
+                    log.warn("Invalidation receiver failed: {}", ex.getMessage());
+                }
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationBatch> receiver) {
+        ownReceivers.add(receiver);
+        RECEIVERS.add(receiver);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        RECEIVERS.removeAll(ownReceivers);
+    }
+}
@@ -0,0 +1,43 @@
+package com.appointment.booking.event;
+
+import com.appointment.booking.entity.OutboxEvent;
+import com.appointment.booking.entity.OutboxEvent.EventType;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of an outbox row handed to sinks, so nothing downstream holds on to
+ * a managed entity after the relay transaction ends.
+ */
+public class OutboxMessage {
+
+    private final Long id;
+    private final EventType eventType;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final Long partitionKey;
+    private final String payload;
+    private final LocalDateTime createdAt;
+
+    public OutboxMessage(OutboxEvent event) {
+        this.id = event.getId();
+        this.eventType = event.getEventType();
+        this.aggregateType = event.getAggregateType();
+        this.aggregateId = event.getAggregateId();
+        this.partitionKey = event.getPartitionKey();
+        this.payload = event.getPayload();
+        this.createdAt = event.getCreatedAt();
+    }
+
+    public Long getId() { return id; }
+    public EventType getEventType() { return eventType; }
+    public String getAggregateType() { return aggregateType; }
+    public Long getAggregateId() { return aggregateId; }
+    public Long getPartitionKey() { return partitionKey; }
+    public String getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    @Override
+    public String toString() {
+        return "OutboxMessage{id=" + id + ", eventType=" + eventType + ", partitionKey=" + partitionKey + "}";
+    }
+}
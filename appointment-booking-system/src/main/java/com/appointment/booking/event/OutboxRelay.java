@@ -0,0 +1,35 @@
+package com.appointment.booking.event;
+
+import com.appointment.booking.service.OutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background relay that drains the outbox in batches. Runs with a fixed delay so two
+ * passes never overlap on the same node; relays on other nodes skip the batch this one
+ * has claimed, and the doctors it covers, until it is recorded or the claim expires.
+ */
+@Component
+public class OutboxRelay {
+
+    private final OutboxService outboxService;
+
+    @Autowired
+    public OutboxRelay(OutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        int published;
+        do {
+            published = outboxService.relayPendingEvents();
+        } while (published > 0 && !Thread.currentThread().isInterrupted());
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.purge-interval-ms:60000}")
+    public void purge() {
+        outboxService.purgePublishedEvents();
+    }
+}
@@ -0,0 +1,11 @@
+package com.appointment.booking.event;
+
+/**
+ * Destination for relayed outbox messages. A sink that throws is retried on the next
+ * relay pass, so implementations must tolerate duplicates (at-least-once delivery).
+ */
+public interface OutboxSink {
+
+    String getName();
+    void publish(OutboxMessage message) throws Exception;
+}
@@ -0,0 +1,18 @@
+package com.appointment.booking.event;
+
+/**
+ * Published locally when a peer node reports a committed patient change. A null patientId
+ * means an unknown set of patients changed, as after a bulk import.
+ */
+public class RemotePatientChangeEvent {
+
+    private final Long patientId;
+
+    public RemotePatientChangeEvent(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+}
@@ -0,0 +1,277 @@
+package com.appointment.booking.event;
+
+import com.appointment.booking.dto.SlotChangeDTO;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.repository.DoctorRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes slot deltas to Server-Sent Events subscribers per doctor/date or
+ * specialization/date. Each change is serialized once and queued on every matching
+ * subscriber's bounded buffer; a small pool of dispatcher threads drains only the
+ * subscribers that have pending frames. A subscriber that falls behind loses its
+ * buffered deltas and receives a single "resync" event telling it to refetch.
+ */
+@Component
+public class SlotChangeBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotChangeBroadcaster.class);
+    private static final Frame HEARTBEAT = new Frame(null, null, null);
+    private static final Frame RESYNC = new Frame(null, "resync", "{}");
+
+    private final DoctorRepository doctorRepository;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMillis;
+    private final int bufferSize;
+
+    private final Map<String, Set<Subscriber>> doctorTopics = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> specializationTopics = new ConcurrentHashMap<>();
+    private final BlockingQueue<Subscriber> ready = new LinkedBlockingQueue<>();
+    private final ExecutorService dispatchers;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter droppedCounter;
+    private volatile boolean running = true;
+
+    @Autowired
+    public SlotChangeBroadcaster(DoctorRepository doctorRepository,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${sse.timeout-ms:1800000}") long emitterTimeoutMillis,
+                                 @Value("${sse.subscriber-buffer:64}") int bufferSize,
+                                 @Value("${sse.dispatcher-threads:2}") int dispatcherThreads) {
+        this.doctorRepository = doctorRepository;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.bufferSize = bufferSize;
+        this.dispatchers = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < dispatcherThreads; i++) {
+            dispatchers.execute(this::dispatchLoop);
+        }
+        Gauge.builder("sse.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open slot change subscriptions")
+                .register(meterRegistry);
+        this.droppedCounter = meterRegistry.counter("sse.dropped");
+    }
+
+    public SseEmitter subscribeToDoctor(Long doctorId, LocalDate date) {
+        return subscribe(doctorTopics, doctorKey(doctorId, date));
+    }
+
+    public SseEmitter subscribeToSpecialization(String specialization, LocalDate date) {
+        return subscribe(specializationTopics, specializationKey(specialization, date));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        Set<Subscriber> byDoctor = doctorTopics.get(doctorKey(event.getDoctorId(), event.getDate()));
+        Set<Subscriber> bySpecialization = null;
+        if (!specializationTopics.isEmpty()) {
+            String specialization = doctorRepository.findById(event.getDoctorId())
+                    .map(Doctor::getSpecialization)
+                    .orElse(null);
+            if (specialization != null) {
+                bySpecialization = specializationTopics.get(specializationKey(specialization, event.getDate()));
+            }
+        }
+        if (byDoctor == null && bySpecialization == null) {
+            return;
+        }
+
+        Frame frame = new Frame(Long.toString(sequence.incrementAndGet()), "slot-change", encode(event));
+        if (byDoctor != null) {
+            byDoctor.forEach(subscriber -> subscriber.enqueue(frame));
+        }
+        if (bySpecialization != null) {
+            bySpecialization.forEach(subscriber -> subscriber.enqueue(frame));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        doctorTopics.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.enqueue(HEARTBEAT)));
+        specializationTopics.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.enqueue(HEARTBEAT)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatchers.shutdownNow();
+    }
+
+    private SseEmitter subscribe(Map<String, Set<Subscriber>> topics, String key) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        topics.compute(key, (k, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        subscriberCount.incrementAndGet();
+
+        Runnable unsubscribe = () -> {
+            if (subscriber.closed.compareAndSet(false, true)) {
+                topics.computeIfPresent(key, (k, set) -> {
+                    set.remove(subscriber);
+                    return set.isEmpty() ? null : set;
+                });
+                subscriberCount.decrementAndGet();
+            }
+        };
+        subscriber.unsubscribe = unsubscribe;
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            Subscriber subscriber;
+            try {
+                subscriber = ready.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            subscriber.scheduled.set(false);
+            subscriber.flush();
+            if (!subscriber.buffer.isEmpty()) {
+                subscriber.schedule();
+            }
+        }
+    }
+
+    private String encode(AvailabilityChangedEvent event) {
+        SlotChangeDTO dto = new SlotChangeDTO();
+        dto.setChangeType(event.getChangeType());
+        dto.setAvailabilityId(event.getAvailabilityId());
+        dto.setDoctorId(event.getDoctorId());
+        dto.setDate(event.getDate());
+        dto.setStartTime(event.getStartTime());
+        dto.setEndTime(event.getEndTime());
+        dto.setIsAvailable(event.getIsAvailable());
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize slot change " + event, ex);
+        }
+    }
+
+    private static String doctorKey(Long doctorId, LocalDate date) {
+        return doctorId + "|" + date;
+    }
+
+    private static String specializationKey(String specialization, LocalDate date) {
+        return specialization.toLowerCase(Locale.ROOT) + "|" + date;
+    }
+
+    private static final class Frame {
+
+        private final String id;
+        private final String name;
+        private final String data;
+
+        private Frame(String id, String name, String data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Frame> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile Runnable unsubscribe;
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void enqueue(Frame frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(frame)) {
+                buffer.clear();
+                overflowed = true;
+                droppedCounter.increment();
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                ready.offer(this);
+            }
+        }
+
+        private void flush() {
+            try {
+                if (overflowed) {
+                    overflowed = false;
+                    send(RESYNC);
+                }
+                Frame frame;
+                while ((frame = buffer.poll()) != null) {
+                    send(frame);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Dropping slot change subscriber: {}", ex.getMessage());
+                buffer.clear();
+                unsubscribe.run();
+                emitter.completeWithError(ex);
+            }
+        }
+
+        private void send(Frame frame) throws IOException {
+            if (frame == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(frame.name).data(frame.data, MediaType.APPLICATION_JSON);
+            if (frame.id != null) {
+                event.id(frame.id);
+            }
+            emitter.send(event);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.appointment.booking.event;
+
+/**
+ * Published when a slot hold ends without being booked, either because it lapsed or because
+ * its holder released it. Holds consumed by a booking do not produce this event.
+ */
+public class SlotHoldReleasedEvent {
+
+    private final String holdId;
+    private final Long availabilityId;
+
+    public SlotHoldReleasedEvent(String holdId, Long availabilityId) {
+        this.holdId = holdId;
+        this.availabilityId = availabilityId;
+    }
+
+    public String getHoldId() { return holdId; }
+    public Long getAvailabilityId() { return availabilityId; }
+
+    @Override
+    public String toString() {
+        return "SlotHoldReleasedEvent{holdId=" + holdId + ", availabilityId=" + availabilityId + "}";
+    }
+}
@@ -1,8 +1,16 @@
 package com.appointment.booking.mapper;
 
 import com.appointment.booking.dto.AppointmentDTO;
+import com.appointment.booking.dto.AppointmentRowDTO;
+import com.appointment.booking.dto.DoctorSummaryDTO;
+import com.appointment.booking.dto.NormalizedAppointmentsDTO;
+import com.appointment.booking.dto.PatientSummaryDTO;
 import com.appointment.booking.entity.Appointment;
+import com.appointment.booking.entity.AppointmentView;
 import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Component
 public class AppointmentMapper {
@@ -30,6 +38,94 @@ public class AppointmentMapper {
         return dto;
     }
 
+    public AppointmentDTO toDTO(AppointmentView view) {
+        if (view == null) return null;
+
+        AppointmentDTO dto = new AppointmentDTO();
+        dto.setId(view.getId());
+        dto.setPatientId(view.getPatientId());
+        dto.setPatientName(view.getPatientName());
+        dto.setPatientEmail(view.getPatientEmail());
+        dto.setPatientPhone(view.getPatientPhone());
+        dto.setDoctorId(view.getDoctorId());
+        dto.setDoctorName(view.getDoctorName());
+        dto.setDoctorSpecialization(view.getDoctorSpecialization());
+        dto.setAvailabilityId(view.getAvailabilityId());
+        dto.setDate(view.getDate());
+        dto.setStartTime(view.getStartTime());
+        dto.setEndTime(view.getEndTime());
+        dto.setStatus(view.getStatus());
+        dto.setNotes(view.getNotes());
+        dto.setCreatedAt(view.getCreatedAt());
+        dto.setUpdatedAt(view.getUpdatedAt());
+        return dto;
+    }
+
+    public AppointmentView toView(Appointment appointment) {
+        if (appointment == null) return null;
+
+        AppointmentView view = new AppointmentView();
+        view.setId(appointment.getId());
+        view.setPatientId(appointment.getPatient().getId());
+        view.setPatientName(appointment.getPatient().getName());
+        view.setPatientEmail(appointment.getPatient().getEmail());
+        view.setPatientPhone(appointment.getPatient().getPhone());
+        view.setDoctorId(appointment.getDoctor().getId());
+        view.setDoctorName(appointment.getDoctor().getName());
+        view.setDoctorSpecialization(appointment.getDoctor().getSpecialization());
+        view.setAvailabilityId(appointment.getAvailability().getId());
+        view.setDate(appointment.getDate());
+        view.setStartTime(appointment.getAvailability().getStartTime());
+        view.setEndTime(appointment.getAvailability().getEndTime());
+        view.setStatus(appointment.getStatus());
+        view.setNotes(appointment.getNotes());
+        view.setCreatedAt(appointment.getCreatedAt());
+        view.setUpdatedAt(appointment.getUpdatedAt());
+        return view;
+    }
+
+    public NormalizedAppointmentsDTO toNormalizedDTO(List<AppointmentDTO> appointments) {
+        NormalizedAppointmentsDTO normalized = new NormalizedAppointmentsDTO();
+        List<AppointmentRowDTO> rows = new ArrayList<>(appointments.size());
+        Map<Long, PatientSummaryDTO> patients = normalized.getPatients();
+        Map<Long, DoctorSummaryDTO> doctors = normalized.getDoctors();
+
+        // Per-doctor and per-patient lists repeat one ID on every row, so check the last one first
+        Long lastPatientId = null;
+        Long lastDoctorId = null;
+        for (AppointmentDTO dto : appointments) {
+            AppointmentRowDTO row = new AppointmentRowDTO();
+            row.setId(dto.getId());
+            row.setPatientId(dto.getPatientId());
+            row.setDoctorId(dto.getDoctorId());
+            row.setAvailabilityId(dto.getAvailabilityId());
+            row.setDate(dto.getDate());
+            row.setStartTime(dto.getStartTime());
+            row.setEndTime(dto.getEndTime());
+            row.setStatus(dto.getStatus());
+            row.setNotes(dto.getNotes());
+            row.setCreatedAt(dto.getCreatedAt());
+            row.setUpdatedAt(dto.getUpdatedAt());
+            rows.add(row);
+
+            if (!dto.getPatientId().equals(lastPatientId)) {
+                lastPatientId = dto.getPatientId();
+                if (!patients.containsKey(lastPatientId)) {
+                    patients.put(lastPatientId, new PatientSummaryDTO(dto.getPatientName(),
+                            dto.getPatientEmail(), dto.getPatientPhone()));
+                }
+            }
+            if (!dto.getDoctorId().equals(lastDoctorId)) {
+                lastDoctorId = dto.getDoctorId();
+                if (!doctors.containsKey(lastDoctorId)) {
+                    doctors.put(lastDoctorId, new DoctorSummaryDTO(dto.getDoctorName(), dto.getDoctorSpecialization()));
+                }
+            }
+        }
+        normalized.setAppointments(rows);
+        return normalized;
+    }
+
     public void updateEntityFromDTO(AppointmentDTO dto, Appointment appointment) {
         if (dto == null || appointment == null) return;
 
@@ -0,0 +1,28 @@
+package com.appointment.booking.mapper;
+
+import com.appointment.booking.dto.WaitlistEntryDTO;
+import com.appointment.booking.entity.WaitlistEntry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WaitlistMapper {
+
+    public WaitlistEntryDTO toDTO(WaitlistEntry entry) {
+        if (entry == null) return null;
+
+        WaitlistEntryDTO dto = new WaitlistEntryDTO();
+        dto.setId(entry.getId());
+        dto.setPatientId(entry.getPatient().getId());
+        dto.setDoctorId(entry.getDoctorId());
+        dto.setSpecialization(entry.getSpecialization());
+        dto.setFromDate(entry.getFromDate());
+        dto.setToDate(entry.getToDate());
+        dto.setAutoBook(entry.isAutoBook());
+        dto.setStatus(entry.getStatus());
+        dto.setOfferedHoldId(entry.getOfferedHoldId());
+        dto.setAppointmentId(entry.getAppointmentId());
+        dto.setCreatedAt(entry.getCreatedAt());
+        dto.setUpdatedAt(entry.getUpdatedAt());
+        return dto;
+    }
+}
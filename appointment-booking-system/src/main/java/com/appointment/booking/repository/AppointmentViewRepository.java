@@ -0,0 +1,57 @@
+package com.appointment.booking.repository;
+
+import com.appointment.booking.entity.Appointment.AppointmentStatus;
+import com.appointment.booking.entity.AppointmentView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Repository
+public interface AppointmentViewRepository extends JpaRepository<AppointmentView, Long> {
+
+    List<AppointmentView> findByPatientId(Long patientId);
+    List<AppointmentView> findByDoctorId(Long doctorId);
+    List<AppointmentView> findByPatientIdAndStatus(Long patientId, AppointmentStatus status);
+    List<AppointmentView> findByDoctorIdAndStatus(Long doctorId, AppointmentStatus status);
+    List<AppointmentView> findByPatientIdAndDateGreaterThanEqualOrderByDateAsc(Long patientId, LocalDate fromDate);
+    List<AppointmentView> findByDoctorIdAndDateGreaterThanEqualOrderByDateAsc(Long doctorId, LocalDate fromDate);
+
+    @Modifying
+    @Query("UPDATE AppointmentView v SET v.doctorName = :name, v.doctorSpecialization = :specialization " +
+           "WHERE v.doctorId = :doctorId")
+    int updateDoctorColumns(@Param("doctorId") Long doctorId,
+                            @Param("name") String name,
+                            @Param("specialization") String specialization);
+
+    @Modifying
+    @Query("UPDATE AppointmentView v SET v.patientName = :name, v.patientEmail = :email, v.patientPhone = :phone " +
+           "WHERE v.patientId = :patientId")
+    int updatePatientColumns(@Param("patientId") Long patientId,
+                             @Param("name") String name,
+                             @Param("email") String email,
+                             @Param("phone") String phone);
+
+    @Modifying
+    @Query("UPDATE AppointmentView v SET v.startTime = :startTime, v.endTime = :endTime " +
+           "WHERE v.availabilityId = :availabilityId")
+    int updateAvailabilityColumns(@Param("availabilityId") Long availabilityId,
+                                  @Param("startTime") LocalTime startTime,
+                                  @Param("endTime") LocalTime endTime);
+
+    @Modifying
+    @Query("DELETE FROM AppointmentView v WHERE v.doctorId = :doctorId")
+    int deleteByDoctorId(@Param("doctorId") Long doctorId);
+
+    @Modifying
+    @Query("DELETE FROM AppointmentView v WHERE v.patientId = :patientId")
+    int deleteByPatientId(@Param("patientId") Long patientId);
+
+    @Modifying
+    @Query("DELETE FROM AppointmentView v WHERE v.availabilityId = :availabilityId")
+    int deleteByAvailabilityId(@Param("availabilityId") Long availabilityId);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,4 +32,36 @@ public interface AvailabilityRepository extends JpaRepository<Availability, Long
     List<Availability> findByDoctorIdAndDateAfter(@Param("doctorId") Long doctorId, @Param("fromDate") LocalDate fromDate);
 
     Optional<Availability> findByIdAndIsAvailable(Long id, Boolean isAvailable);
+
+    @Query("SELECT a FROM Availability a JOIN FETCH a.doctor WHERE a.date = :date AND a.isAvailable = true")
+    List<Availability> findFreeWithDoctorByDate(@Param("date") LocalDate date);
+
+    @Query("SELECT a FROM Availability a JOIN FETCH a.doctor WHERE a.id = :id")
+    Optional<Availability> findWithDoctorById(@Param("id") Long id);
+
+    // Scalar projections for range reads; served from the (doctor_id, date, ...) unique index
+    @Query("SELECT a.id AS id, a.doctor.id AS doctorId, a.date AS date, a.startTime AS startTime, " +
+           "a.endTime AS endTime, a.isAvailable AS isAvailable FROM Availability a " +
+           "WHERE a.doctor.id IN :doctorIds AND a.date BETWEEN :fromDate AND :toDate " +
+           "ORDER BY a.doctor.id, a.date, a.startTime")
+    List<SlotRow> findSlotsInRange(@Param("doctorIds") Collection<Long> doctorIds,
+                                   @Param("fromDate") LocalDate fromDate,
+                                   @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT a.id AS id, a.doctor.id AS doctorId, a.date AS date, a.startTime AS startTime, " +
+           "a.endTime AS endTime, a.isAvailable AS isAvailable FROM Availability a " +
+           "WHERE a.doctor.id IN :doctorIds AND a.date BETWEEN :fromDate AND :toDate AND a.isAvailable = true " +
+           "ORDER BY a.doctor.id, a.date, a.startTime")
+    List<SlotRow> findFreeSlotsInRange(@Param("doctorIds") Collection<Long> doctorIds,
+                                       @Param("fromDate") LocalDate fromDate,
+                                       @Param("toDate") LocalDate toDate);
+
+    interface SlotRow {
+        Long getId();
+        Long getDoctorId();
+        LocalDate getDate();
+        LocalTime getStartTime();
+        LocalTime getEndTime();
+        Boolean getIsAvailable();
+    }
 }
\ No newline at end of file
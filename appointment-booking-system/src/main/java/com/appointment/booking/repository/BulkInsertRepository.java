@@ -0,0 +1,63 @@
+package com.appointment.booking.repository;
+
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Patient;
+import com.appointment.booking.util.TransactionCallbacks;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserts rows with JDBC batches for bulk imports. Hibernate cannot batch inserts of
+ * IDENTITY-keyed entities, so these statements bypass it; generated ids are not read back.
+ * Because Hibernate never sees the writes, the query cache is cleared once they commit.
+ * Must be called inside a transaction, whose connection the statements share.
+ */
+@Repository
+public class BulkInsertRepository {
+
+    private static final String INSERT_PATIENT = "INSERT INTO patients (name, email, phone, created_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_DOCTOR = "INSERT INTO doctors (name, specialization, created_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public BulkInsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertPatients(List<Patient> patients) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_PATIENT, patients, patients.size(), (statement, patient) -> {
+            statement.setString(1, patient.getName());
+            statement.setString(2, patient.getEmail());
+            statement.setString(3, patient.getPhone());
+            statement.setTimestamp(4, now);
+        });
+        evictQueryResultsAfterCommit();
+    }
+
+    public void insertDoctors(List<Doctor> doctors) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_DOCTOR, doctors, doctors.size(), (statement, doctor) -> {
+            statement.setString(1, doctor.getName());
+            statement.setString(2, doctor.getSpecialization());
+            statement.setTimestamp(3, now);
+        });
+        evictQueryResultsAfterCommit();
+    }
+
+    private void evictQueryResultsAfterCommit() {
+        Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        TransactionCallbacks.afterCommit(cache::evictDefaultQueryRegion);
+    }
+}
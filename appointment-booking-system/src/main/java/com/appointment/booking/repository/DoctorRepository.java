@@ -19,4 +19,11 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 
     @Query("SELECT DISTINCT d.specialization FROM Doctor d ORDER BY d.specialization")
     List<String> findAllSpecializations();
+
+    /**
+     * existsById always runs a count query; findById goes through the second-level cache.
+     */
+    default boolean existsCached(Long id) {
+        return findById(id).isPresent();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.appointment.booking.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs narrowed selects for sparse fieldsets: only the requested attributes are
+ * fetched, as scalar tuples, and each row comes back keyed by the requested field name.
+ */
+@Repository
+public class FieldProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param selection output field name to attribute path, e.g. "doctorName" to "doctor.name"
+     */
+    public <T> List<Map<String, Object>> findFields(Class<T> entityType, Map<String, String> selection,
+                                                    Specification<T> where, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityType);
+
+        List<Selection<?>> columns = new ArrayList<>(selection.size());
+        selection.forEach((field, attributePath) -> columns.add(resolve(root, attributePath).alias(field)));
+        query.multiselect(columns);
+
+        Predicate predicate = where.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>(selection.size() * 2);
+            for (String field : selection.keySet()) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static Path<?> resolve(Root<?> root, String attributePath) {
+        Path<?> path = root;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+}
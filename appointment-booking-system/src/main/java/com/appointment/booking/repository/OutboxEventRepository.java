@@ -0,0 +1,50 @@
+package com.appointment.booking.repository;
+
+import com.appointment.booking.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Undelivered, not dead-lettered events, oldest first. A doctor with an event still
+     * backing off or claimed by a relay is left out entirely, so its later events keep their
+     * order and do not take page slots from other doctors. The rows are locked for update,
+     * so a relay claiming at the same time waits for this claim to commit.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.failedAt IS NULL " +
+           "AND (e.claimedUntil IS NULL OR e.claimedUntil <= :now) " +
+           "AND e.partitionKey NOT IN (SELECT b.partitionKey FROM OutboxEvent b " +
+           "WHERE b.publishedAt IS NULL AND b.failedAt IS NULL " +
+           "AND (b.nextAttemptAt > :now OR b.claimedUntil > :now)) " +
+           "ORDER BY e.id ASC")
+    List<OutboxEvent> findPending(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Doctors whose undelivered events must wait: one is backing off or claimed by a relay.
+     * A claim re-reads this after its locking read, whose filter can be stale when it had
+     * to wait for another relay's claim.
+     */
+    @Query("SELECT DISTINCT b.partitionKey FROM OutboxEvent b " +
+           "WHERE b.publishedAt IS NULL AND b.failedAt IS NULL " +
+           "AND (b.nextAttemptAt > :now OR b.claimedUntil > :now)")
+    List<Long> findBlockedPartitions(@Param("now") LocalDateTime now);
+
+    long countByPublishedAtIsNullAndFailedAtIsNull();
+
+    long countByFailedAtIsNotNull();
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt IS NOT NULL AND e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
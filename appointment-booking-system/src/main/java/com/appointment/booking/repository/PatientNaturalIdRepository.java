@@ -0,0 +1,30 @@
+package com.appointment.booking.repository;
+
+import com.appointment.booking.entity.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+/**
+ * Looks patients up by email through Hibernate's natural-id API. Email resolves to an id via
+ * the natural-id cache region and the entity then comes from the entity region, so a warm
+ * lookup issues no SQL; a derived findByEmail query would always hit the database.
+ */
+@Repository
+public class PatientNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Optional<Patient> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Patient.class)
+                .loadOptional(email);
+    }
+
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+}
@@ -1,19 +1,46 @@
 package com.appointment.booking.repository;
 
 import com.appointment.booking.entity.Patient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
 
     Optional<Patient> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByPhone(String phone);
 
+    /**
+     * existsById always runs a count query; findById goes through the second-level cache.
+     */
+    default boolean existsCached(Long id) {
+        return findById(id).isPresent();
+    }
+
+    @Query("SELECT p.email FROM Patient p")
+    List<String> findAllEmails();
+
+    @Query("SELECT p.phone FROM Patient p")
+    List<String> findAllPhones();
+
+    @Query("SELECT p.email FROM Patient p WHERE p.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT p.phone FROM Patient p WHERE p.phone IN :phones")
+    Set<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
     @Query("SELECT p FROM Patient p WHERE p.email = :email AND p.id != :id")
     Optional<Patient> findByEmailAndIdNot(@Param("email") String email, @Param("id") Long id);
 
@@ -0,0 +1,25 @@
+package com.appointment.booking.repository;
+
+import com.appointment.booking.entity.WaitlistEntry;
+import com.appointment.booking.entity.WaitlistEntry.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByPatientId(Long patientId);
+    List<WaitlistEntry> findByStatus(WaitlistStatus status);
+    List<WaitlistEntry> findByStatusAndToDateBefore(WaitlistStatus status, LocalDate date);
+    Optional<WaitlistEntry> findByOfferedHoldIdAndStatus(String offeredHoldId, WaitlistStatus status);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.patient.id = :patientId")
+    int deleteByPatientId(@Param("patientId") Long patientId);
+}
@@ -5,10 +5,12 @@ import com.appointment.booking.dto.AppointmentRequest;
 import com.appointment.booking.entity.Appointment.AppointmentStatus;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface AppointmentService {
 
     AppointmentDTO bookAppointment(AppointmentRequest appointmentRequest);
+    AppointmentDTO confirmHold(String holdId, String notes);
     AppointmentDTO getAppointmentById(Long id);
     List<AppointmentDTO> getAppointmentsByPatient(Long patientId);
     List<AppointmentDTO> getAppointmentsByDoctor(Long doctorId);
@@ -16,6 +18,8 @@ public interface AppointmentService {
     List<AppointmentDTO> getAppointmentsByDoctorAndStatus(Long doctorId, AppointmentStatus status);
     List<AppointmentDTO> getUpcomingAppointmentsByPatient(Long patientId);
     List<AppointmentDTO> getUpcomingAppointmentsByDoctor(Long doctorId);
+    List<Map<String, Object>> getAppointmentFields(Long patientId, Long doctorId, AppointmentStatus status,
+                                                   boolean upcomingOnly, String fields);
     AppointmentDTO cancelAppointment(Long appointmentId);
     AppointmentDTO updateAppointmentNotes(Long appointmentId, String notes);
     void deleteAppointment(Long appointmentId);
@@ -0,0 +1,19 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.entity.Appointment;
+import com.appointment.booking.entity.Availability;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Patient;
+
+public interface AppointmentViewService {
+
+    void refreshAppointment(Appointment appointment);
+    void removeAppointment(Long appointmentId);
+    void refreshDoctor(Doctor doctor);
+    void refreshPatient(Patient patient);
+    void refreshAvailability(Availability availability);
+    void removeByDoctor(Long doctorId);
+    void removeByPatient(Long patientId);
+    void removeByAvailability(Long availabilityId);
+    long rebuild();
+}
@@ -1,8 +1,12 @@
 package com.appointment.booking.service;
 
 import com.appointment.booking.dto.AvailabilityDTO;
+import com.appointment.booking.dto.DoctorScheduleDTO;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface AvailabilityService {
 
@@ -12,9 +16,18 @@ public interface AvailabilityService {
     List<AvailabilityDTO> getAvailabilitiesByDoctorAndDate(Long doctorId, LocalDate date);
     List<AvailabilityDTO> getAvailableSlotsByDoctorAndDate(Long doctorId, LocalDate date);
     List<AvailabilityDTO> getAvailableSlotsByDate(LocalDate date);
+    List<AvailabilityDTO> getAvailableSlotsByDate(LocalDate date, String specialization,
+                                                  LocalTime afterStartTime, Long afterId, Integer limit);
     List<AvailabilityDTO> getUpcomingAvailabilitiesByDoctor(Long doctorId);
+    List<Map<String, Object>> getAvailabilityFields(Long doctorId, LocalDate date, boolean onlyAvailable, String fields);
+    DoctorScheduleDTO getDoctorSchedule(Long doctorId, LocalDate fromDate, LocalDate toDate, boolean onlyFree);
+    List<DoctorScheduleDTO> getDoctorSchedules(List<Long> doctorIds, LocalDate fromDate, LocalDate toDate, boolean onlyFree);
     AvailabilityDTO updateAvailability(Long id, AvailabilityDTO availabilityDTO);
     void deleteAvailability(Long id);
     void markAvailabilityAsBooked(Long availabilityId);
     void markAvailabilityAsAvailable(Long availabilityId);
+    void doctorChanged(Long doctorId);
+    void evictFreeSlots(LocalDate date);
+    void pinFreeSlotDates(Set<LocalDate> dates);
+    Set<LocalDate> getPinnedFreeSlotDates();
 }
\ No newline at end of file
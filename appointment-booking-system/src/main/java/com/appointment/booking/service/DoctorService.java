@@ -1,7 +1,11 @@
 package com.appointment.booking.service;
 
 import com.appointment.booking.dto.DoctorDTO;
+import com.appointment.booking.dto.ImportRowErrorDTO;
+import com.appointment.booking.dto.ImportSummaryDTO;
+import com.appointment.booking.util.ImportRecordReader;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DoctorService {
 
@@ -13,4 +17,5 @@ public interface DoctorService {
     List<String> getAllSpecializations();
     DoctorDTO updateDoctor(Long id, DoctorDTO doctorDTO);
     void deleteDoctor(Long id);
+    ImportSummaryDTO importDoctors(ImportRecordReader reader, Consumer<ImportRowErrorDTO> errors);
 }
\ No newline at end of file
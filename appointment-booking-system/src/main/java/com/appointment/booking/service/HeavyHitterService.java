@@ -0,0 +1,12 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.dto.HeavyHittersDTO;
+import java.time.LocalDate;
+
+public interface HeavyHitterService {
+
+    void recordDoctor(Long doctorId);
+    void recordDate(LocalDate date);
+    void recordDoctorDate(Long doctorId, LocalDate date);
+    HeavyHittersDTO getHeavyHitters();
+}
@@ -0,0 +1,11 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.dto.AppointmentDTO;
+import com.appointment.booking.entity.OutboxEvent.EventType;
+
+public interface OutboxService {
+
+    void recordAppointmentEvent(EventType eventType, AppointmentDTO appointment);
+    int relayPendingEvents();
+    int purgePublishedEvents();
+}
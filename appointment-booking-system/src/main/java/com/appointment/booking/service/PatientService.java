@@ -1,7 +1,11 @@
 package com.appointment.booking.service;
 
+import com.appointment.booking.dto.ImportRowErrorDTO;
+import com.appointment.booking.dto.ImportSummaryDTO;
 import com.appointment.booking.dto.PatientDTO;
+import com.appointment.booking.util.ImportRecordReader;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PatientService {
 
@@ -13,4 +17,5 @@ public interface PatientService {
     void deletePatient(Long id);
     boolean existsByEmail(String email);
     boolean existsByPhone(String phone);
+    ImportSummaryDTO importPatients(ImportRecordReader reader, Consumer<ImportRowErrorDTO> errors);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.appointment.booking.service;
+
+import java.time.LocalDate;
+
+public interface ResourceVersionService {
+
+    String directoryTag();
+    String doctorTag(Long doctorId);
+    String doctorScheduleTag(Long doctorId);
+    String doctorDateTag(Long doctorId, LocalDate date);
+    String dateTag(LocalDate date);
+
+    void doctorDirectoryChanged();
+    void doctorChanged(Long doctorId);
+    void slotsChanged(Long doctorId, LocalDate date);
+}
@@ -0,0 +1,14 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.dto.SlotHoldDTO;
+import com.appointment.booking.dto.SlotHoldRequest;
+
+public interface SlotHoldService {
+
+    SlotHoldDTO holdSlot(SlotHoldRequest slotHoldRequest);
+    SlotHoldDTO getHold(String holdId);
+    void releaseHold(String holdId);
+    void releaseSlot(Long availabilityId);
+    boolean isHeld(Long availabilityId);
+    boolean isHeldByOtherPatient(Long availabilityId, Long patientId);
+}
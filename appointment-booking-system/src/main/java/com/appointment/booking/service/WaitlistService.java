@@ -0,0 +1,15 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.dto.WaitlistEntryDTO;
+import com.appointment.booking.dto.WaitlistRequest;
+import java.util.List;
+
+public interface WaitlistService {
+
+    WaitlistEntryDTO joinWaitlist(WaitlistRequest waitlistRequest);
+    WaitlistEntryDTO getWaitlistEntryById(Long id);
+    List<WaitlistEntryDTO> getWaitlistEntriesByPatient(Long patientId);
+    WaitlistEntryDTO cancelWaitlistEntry(Long id);
+    void removeByPatient(Long patientId);
+    void fillReleasedSlot(Long availabilityId);
+}
@@ -2,26 +2,40 @@ package com.appointment.booking.service.impl;
 
 import com.appointment.booking.dto.AppointmentDTO;
 import com.appointment.booking.dto.AppointmentRequest;
+import com.appointment.booking.dto.SlotHoldDTO;
 import com.appointment.booking.entity.Appointment;
 import com.appointment.booking.entity.Appointment.AppointmentStatus;
+import com.appointment.booking.entity.AppointmentView;
 import com.appointment.booking.entity.Availability;
 import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.OutboxEvent.EventType;
 import com.appointment.booking.entity.Patient;
 import com.appointment.booking.exception.BadRequestException;
 import com.appointment.booking.exception.ConflictException;
 import com.appointment.booking.exception.ResourceNotFoundException;
 import com.appointment.booking.mapper.AppointmentMapper;
 import com.appointment.booking.repository.AppointmentRepository;
+import com.appointment.booking.repository.AppointmentViewRepository;
 import com.appointment.booking.repository.AvailabilityRepository;
 import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.FieldProjectionRepository;
 import com.appointment.booking.repository.PatientRepository;
 import com.appointment.booking.service.AppointmentService;
+import com.appointment.booking.service.AppointmentViewService;
 import com.appointment.booking.service.AvailabilityService;
+import com.appointment.booking.service.OutboxService;
+import com.appointment.booking.service.SlotHoldService;
+import com.appointment.booking.util.FieldSelection;
+import com.appointment.booking.util.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -29,12 +43,28 @@ import java.util.stream.Collectors;
 @Transactional
 public class AppointmentServiceImpl implements AppointmentService {
 
+    // Sparse fieldsets read the flat read model, whose attributes match AppointmentDTO one to one
+    private static final Map<String, String> SELECTABLE_FIELDS = new LinkedHashMap<>();
+
+    static {
+        for (String field : List.of("id", "patientId", "patientName", "patientEmail", "patientPhone",
+                "doctorId", "doctorName", "doctorSpecialization", "availabilityId", "date", "startTime",
+                "endTime", "status", "notes", "createdAt", "updatedAt")) {
+            SELECTABLE_FIELDS.put(field, field);
+        }
+    }
+
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final AvailabilityRepository availabilityRepository;
     private final AppointmentMapper appointmentMapper;
     private final AvailabilityService availabilityService;
+    private final AppointmentViewRepository appointmentViewRepository;
+    private final AppointmentViewService appointmentViewService;
+    private final OutboxService outboxService;
+    private final SlotHoldService slotHoldService;
+    private final FieldProjectionRepository fieldProjectionRepository;
 
     @Autowired
     public AppointmentServiceImpl(AppointmentRepository appointmentRepository,
@@ -42,13 +72,23 @@ public class AppointmentServiceImpl implements AppointmentService {
                                  DoctorRepository doctorRepository,
                                  AvailabilityRepository availabilityRepository,
                                  AppointmentMapper appointmentMapper,
-                                 AvailabilityService availabilityService) {
+                                 AvailabilityService availabilityService,
+                                 AppointmentViewRepository appointmentViewRepository,
+                                 AppointmentViewService appointmentViewService,
+                                 OutboxService outboxService,
+                                 SlotHoldService slotHoldService,
+                                 FieldProjectionRepository fieldProjectionRepository) {
         this.appointmentRepository = appointmentRepository;
         this.patientRepository = patientRepository;
         this.doctorRepository = doctorRepository;
         this.availabilityRepository = availabilityRepository;
         this.appointmentMapper = appointmentMapper;
         this.availabilityService = availabilityService;
+        this.appointmentViewRepository = appointmentViewRepository;
+        this.appointmentViewService = appointmentViewService;
+        this.outboxService = outboxService;
+        this.slotHoldService = slotHoldService;
+        this.fieldProjectionRepository = fieldProjectionRepository;
     }
 
     @Override
@@ -83,6 +123,11 @@ public class AppointmentServiceImpl implements AppointmentService {
             throw new ConflictException("This time slot is already booked by another patient");
         }
 
+        // Respect temporary holds taken by other patients at checkout
+        if (slotHoldService.isHeldByOtherPatient(appointmentRequest.getAvailabilityId(), appointmentRequest.getPatientId())) {
+            throw new ConflictException("This time slot is currently held by another patient");
+        }
+
         // Create and save the appointment
         Appointment appointment = new Appointment(patient, doctor, availability, appointmentRequest.getDate());
         appointment.setNotes(appointmentRequest.getNotes());
@@ -90,8 +135,25 @@ public class AppointmentServiceImpl implements AppointmentService {
 
         // Mark availability as booked
         availabilityService.markAvailabilityAsBooked(appointmentRequest.getAvailabilityId());
+        appointmentViewService.refreshAppointment(savedAppointment);
+
+        AppointmentDTO bookedAppointment = appointmentMapper.toDTO(savedAppointment);
+        outboxService.recordAppointmentEvent(EventType.APPOINTMENT_BOOKED, bookedAppointment);
+        return bookedAppointment;
+    }
+
+    @Override
+    public AppointmentDTO confirmHold(String holdId, String notes) {
+        SlotHoldDTO hold = slotHoldService.getHold(holdId);
 
-        return appointmentMapper.toDTO(savedAppointment);
+        AppointmentRequest appointmentRequest = new AppointmentRequest(hold.getPatientId(), hold.getDoctorId(),
+                hold.getAvailabilityId(), hold.getDate());
+        appointmentRequest.setNotes(notes);
+        AppointmentDTO bookedAppointment = bookAppointment(appointmentRequest);
+
+        // Released only once the booking is durable: a failed commit leaves the patient's hold intact
+        TransactionCallbacks.afterCommit(() -> slotHoldService.releaseSlot(hold.getAvailabilityId()));
+        return bookedAppointment;
     }
 
     @Override
@@ -105,10 +167,10 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByPatient(Long patientId) {
-        if (!patientRepository.existsById(patientId)) {
+        if (!patientRepository.existsCached(patientId)) {
             throw new ResourceNotFoundException("Patient", "id", patientId);
         }
-        return appointmentRepository.findByPatientId(patientId).stream()
+        return appointmentViewRepository.findByPatientId(patientId).stream()
                 .map(appointmentMapper::toDTO)
                 .collect(Collectors.toList());
     }
@@ -116,10 +178,10 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByDoctor(Long doctorId) {
-        if (!doctorRepository.existsById(doctorId)) {
+        if (!doctorRepository.existsCached(doctorId)) {
             throw new ResourceNotFoundException("Doctor", "id", doctorId);
         }
-        return appointmentRepository.findByDoctorId(doctorId).stream()
+        return appointmentViewRepository.findByDoctorId(doctorId).stream()
                 .map(appointmentMapper::toDTO)
                 .collect(Collectors.toList());
     }
@@ -127,10 +189,10 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByPatientAndStatus(Long patientId, AppointmentStatus status) {
-        if (!patientRepository.existsById(patientId)) {
+        if (!patientRepository.existsCached(patientId)) {
             throw new ResourceNotFoundException("Patient", "id", patientId);
         }
-        return appointmentRepository.findByPatientIdAndStatus(patientId, status).stream()
+        return appointmentViewRepository.findByPatientIdAndStatus(patientId, status).stream()
                 .map(appointmentMapper::toDTO)
                 .collect(Collectors.toList());
     }
@@ -138,10 +200,10 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByDoctorAndStatus(Long doctorId, AppointmentStatus status) {
-        if (!doctorRepository.existsById(doctorId)) {
+        if (!doctorRepository.existsCached(doctorId)) {
             throw new ResourceNotFoundException("Doctor", "id", doctorId);
         }
-        return appointmentRepository.findByDoctorIdAndStatus(doctorId, status).stream()
+        return appointmentViewRepository.findByDoctorIdAndStatus(doctorId, status).stream()
                 .map(appointmentMapper::toDTO)
                 .collect(Collectors.toList());
     }
@@ -149,10 +211,10 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getUpcomingAppointmentsByPatient(Long patientId) {
-        if (!patientRepository.existsById(patientId)) {
+        if (!patientRepository.existsCached(patientId)) {
             throw new ResourceNotFoundException("Patient", "id", patientId);
         }
-        return appointmentRepository.findByPatientIdAndDateAfter(patientId, LocalDate.now()).stream()
+        return appointmentViewRepository.findByPatientIdAndDateGreaterThanEqualOrderByDateAsc(patientId, LocalDate.now()).stream()
                 .map(appointmentMapper::toDTO)
                 .collect(Collectors.toList());
     }
@@ -160,14 +222,36 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getUpcomingAppointmentsByDoctor(Long doctorId) {
-        if (!doctorRepository.existsById(doctorId)) {
+        if (!doctorRepository.existsCached(doctorId)) {
             throw new ResourceNotFoundException("Doctor", "id", doctorId);
         }
-        return appointmentRepository.findByDoctorIdAndDateAfter(doctorId, LocalDate.now()).stream()
+        return appointmentViewRepository.findByDoctorIdAndDateGreaterThanEqualOrderByDateAsc(doctorId, LocalDate.now()).stream()
                 .map(appointmentMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAppointmentFields(Long patientId, Long doctorId, AppointmentStatus status,
+                                                          boolean upcomingOnly, String fields) {
+        Map<String, String> selection = FieldSelection.parse(fields, SELECTABLE_FIELDS);
+        if (patientId != null && !patientRepository.existsCached(patientId)) {
+            throw new ResourceNotFoundException("Patient", "id", patientId);
+        }
+        if (doctorId != null && !doctorRepository.existsCached(doctorId)) {
+            throw new ResourceNotFoundException("Doctor", "id", doctorId);
+        }
+
+        LocalDate today = LocalDate.now();
+        Specification<AppointmentView> where = (root, query, cb) -> cb.and(
+                patientId != null ? cb.equal(root.get("patientId"), patientId) : cb.conjunction(),
+                doctorId != null ? cb.equal(root.get("doctorId"), doctorId) : cb.conjunction(),
+                status != null ? cb.equal(root.get("status"), status) : cb.conjunction(),
+                upcomingOnly ? cb.greaterThanOrEqualTo(root.get("date"), today) : cb.conjunction());
+        Sort sort = upcomingOnly ? Sort.by("date") : Sort.unsorted();
+        return fieldProjectionRepository.findFields(AppointmentView.class, selection, where, sort);
+    }
+
     @Override
     public AppointmentDTO cancelAppointment(Long appointmentId) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
@@ -178,12 +262,15 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
 
         appointment.setStatus(AppointmentStatus.CANCELED);
-        Appointment updatedAppointment = appointmentRepository.save(appointment);
+        Appointment updatedAppointment = appointmentRepository.saveAndFlush(appointment);
 
         // Mark availability as available again
         availabilityService.markAvailabilityAsAvailable(appointment.getAvailability().getId());
+        appointmentViewService.refreshAppointment(updatedAppointment);
 
-        return appointmentMapper.toDTO(updatedAppointment);
+        AppointmentDTO canceledAppointment = appointmentMapper.toDTO(updatedAppointment);
+        outboxService.recordAppointmentEvent(EventType.APPOINTMENT_CANCELED, canceledAppointment);
+        return canceledAppointment;
     }
 
     @Override
@@ -192,9 +279,12 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", appointmentId));
 
         appointment.setNotes(notes);
-        Appointment updatedAppointment = appointmentRepository.save(appointment);
+        Appointment updatedAppointment = appointmentRepository.saveAndFlush(appointment);
+        appointmentViewService.refreshAppointment(updatedAppointment);
 
-        return appointmentMapper.toDTO(updatedAppointment);
+        AppointmentDTO notedAppointment = appointmentMapper.toDTO(updatedAppointment);
+        outboxService.recordAppointmentEvent(EventType.APPOINTMENT_NOTES_UPDATED, notedAppointment);
+        return notedAppointment;
     }
 
     @Override
@@ -207,6 +297,8 @@ public class AppointmentServiceImpl implements AppointmentService {
             availabilityService.markAvailabilityAsAvailable(appointment.getAvailability().getId());
         }
 
+        outboxService.recordAppointmentEvent(EventType.APPOINTMENT_DELETED, appointmentMapper.toDTO(appointment));
+        appointmentViewService.removeAppointment(appointmentId);
         appointmentRepository.delete(appointment);
     }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.appointment.booking.service.impl;
+
+import com.appointment.booking.entity.Appointment;
+import com.appointment.booking.entity.AppointmentView;
+import com.appointment.booking.entity.Availability;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Patient;
+import com.appointment.booking.mapper.AppointmentMapper;
+import com.appointment.booking.repository.AppointmentRepository;
+import com.appointment.booking.repository.AppointmentViewRepository;
+import com.appointment.booking.service.AppointmentViewService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the appointment_view read model in step with the normalized tables. Every
+ * method joins the caller's transaction, so the view commits or rolls back together
+ * with the write that changed it.
+ */
+@Service
+@Transactional
+public class AppointmentViewServiceImpl implements AppointmentViewService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentViewServiceImpl.class);
+
+    private final AppointmentViewRepository appointmentViewRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentMapper appointmentMapper;
+
+    @Autowired
+    public AppointmentViewServiceImpl(AppointmentViewRepository appointmentViewRepository,
+                                      AppointmentRepository appointmentRepository,
+                                      AppointmentMapper appointmentMapper) {
+        this.appointmentViewRepository = appointmentViewRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentMapper = appointmentMapper;
+    }
+
+    @Override
+    public void refreshAppointment(Appointment appointment) {
+        appointmentViewRepository.save(appointmentMapper.toView(appointment));
+    }
+
+    @Override
+    public void removeAppointment(Long appointmentId) {
+        if (appointmentViewRepository.existsById(appointmentId)) {
+            appointmentViewRepository.deleteById(appointmentId);
+        }
+    }
+
+    @Override
+    public void refreshDoctor(Doctor doctor) {
+        appointmentViewRepository.updateDoctorColumns(doctor.getId(), doctor.getName(), doctor.getSpecialization());
+    }
+
+    @Override
+    public void refreshPatient(Patient patient) {
+        appointmentViewRepository.updatePatientColumns(patient.getId(), patient.getName(),
+                patient.getEmail(), patient.getPhone());
+    }
+
+    @Override
+    public void refreshAvailability(Availability availability) {
+        appointmentViewRepository.updateAvailabilityColumns(availability.getId(),
+                availability.getStartTime(), availability.getEndTime());
+    }
+
+    @Override
+    public void removeByDoctor(Long doctorId) {
+        appointmentViewRepository.deleteByDoctorId(doctorId);
+    }
+
+    @Override
+    public void removeByPatient(Long patientId) {
+        appointmentViewRepository.deleteByPatientId(patientId);
+    }
+
+    @Override
+    public void removeByAvailability(Long availabilityId) {
+        appointmentViewRepository.deleteByAvailabilityId(availabilityId);
+    }
+
+    @Override
+    public long rebuild() {
+        appointmentViewRepository.deleteAllInBatch();
+        List<AppointmentView> views = appointmentRepository.findAll().stream()
+                .map(appointmentMapper::toView)
+                .collect(Collectors.toList());
+        appointmentViewRepository.saveAll(views);
+        return views.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        if (appointmentViewRepository.count() != appointmentRepository.count()) {
+            long rebuilt = rebuild();
+            log.info("Rebuilt appointment_view read model with {} rows", rebuilt);
+        }
+    }
+}
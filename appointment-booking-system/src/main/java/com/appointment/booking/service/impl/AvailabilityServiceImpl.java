@@ -1,37 +1,131 @@
 package com.appointment.booking.service.impl;
 
+import com.appointment.booking.config.LaneRoutingDataSource;
 import com.appointment.booking.dto.AvailabilityDTO;
+import com.appointment.booking.dto.DailySlotsDTO;
+import com.appointment.booking.dto.DoctorScheduleDTO;
+import com.appointment.booking.dto.SlotDTO;
 import com.appointment.booking.entity.Availability;
 import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.event.AvailabilityChangedEvent;
+import com.appointment.booking.event.AvailabilityChangedEvent.ChangeType;
 import com.appointment.booking.exception.BadRequestException;
 import com.appointment.booking.exception.ConflictException;
 import com.appointment.booking.exception.ResourceNotFoundException;
 import com.appointment.booking.mapper.AvailabilityMapper;
 import com.appointment.booking.repository.AvailabilityRepository;
+import com.appointment.booking.repository.AvailabilityRepository.SlotRow;
 import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.FieldProjectionRepository;
+import com.appointment.booking.service.AppointmentViewService;
 import com.appointment.booking.service.AvailabilityService;
+import com.appointment.booking.service.ResourceVersionService;
+import com.appointment.booking.service.SlotHoldService;
+import com.appointment.booking.util.FieldSelection;
+import com.appointment.booking.util.SingleFlight;
+import com.appointment.booking.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class AvailabilityServiceImpl implements AvailabilityService {
 
+    // Sparse fieldset names, as in AvailabilityDTO, mapped to the attribute paths they select
+    private static final Map<String, String> SELECTABLE_FIELDS = new LinkedHashMap<>();
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final int MAX_FREE_SLOT_LOADS = 3;
+
+    static {
+        SELECTABLE_FIELDS.put("id", "id");
+        SELECTABLE_FIELDS.put("doctorId", "doctor.id");
+        SELECTABLE_FIELDS.put("doctorName", "doctor.name");
+        SELECTABLE_FIELDS.put("date", "date");
+        SELECTABLE_FIELDS.put("startTime", "startTime");
+        SELECTABLE_FIELDS.put("endTime", "endTime");
+        SELECTABLE_FIELDS.put("isAvailable", "isAvailable");
+        SELECTABLE_FIELDS.put("createdAt", "createdAt");
+        SELECTABLE_FIELDS.put("updatedAt", "updatedAt");
+    }
+
     private final AvailabilityRepository availabilityRepository;
     private final DoctorRepository doctorRepository;
     private final AvailabilityMapper availabilityMapper;
+    private final AppointmentViewService appointmentViewService;
+    private final SlotHoldService slotHoldService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FieldProjectionRepository fieldProjectionRepository;
+    private final ResourceVersionService resourceVersionService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final FreeSlotIndex freeSlotIndex;
+    private final Counter freeSlotLoads;
+    private final int maxRangeDays;
+    private final int maxRangeDoctors;
 
     @Autowired
     public AvailabilityServiceImpl(AvailabilityRepository availabilityRepository,
                                   DoctorRepository doctorRepository,
-                                  AvailabilityMapper availabilityMapper) {
+                                  AvailabilityMapper availabilityMapper,
+                                  AppointmentViewService appointmentViewService,
+                                  SlotHoldService slotHoldService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  FieldProjectionRepository fieldProjectionRepository,
+                                  ResourceVersionService resourceVersionService,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${availability.range.max-days:31}") int maxRangeDays,
+                                  @Value("${availability.range.max-doctors:20}") int maxRangeDoctors,
+                                  @Value("${free-slot-index.max-dates:60}") int maxIndexedDates) {
         this.availabilityRepository = availabilityRepository;
         this.doctorRepository = doctorRepository;
         this.availabilityMapper = availabilityMapper;
+        this.appointmentViewService = appointmentViewService;
+        this.slotHoldService = slotHoldService;
+        this.eventPublisher = eventPublisher;
+        this.fieldProjectionRepository = fieldProjectionRepository;
+        this.resourceVersionService = resourceVersionService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxRangeDays = maxRangeDays;
+        this.maxRangeDoctors = maxRangeDoctors;
+        this.freeSlotIndex = new FreeSlotIndex(maxIndexedDates);
+
+        FunctionCounter.builder("singleflight.coalesced", singleFlight, SingleFlight::coalescedCount)
+                .description("Reads served by joining an identical in-flight call")
+                .tag("service", "availability")
+                .register(meterRegistry);
+        Gauge.builder("free.slot.index.dates", freeSlotIndex, FreeSlotIndex::size)
+                .description("Dates whose free slots are held in memory")
+                .register(meterRegistry);
+        this.freeSlotLoads = meterRegistry.counter("free.slot.index.loads");
     }
 
     @Override
@@ -58,6 +152,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         Availability availability = new Availability(doctor, availabilityDTO.getDate(),
                 availabilityDTO.getStartTime(), availabilityDTO.getEndTime());
         Availability savedAvailability = availabilityRepository.save(availability);
+        publishChange(ChangeType.CREATED, savedAvailability);
         return availabilityMapper.toDTO(savedAvailability);
     }
 
@@ -72,7 +167,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
     @Override
     @Transactional(readOnly = true)
     public List<AvailabilityDTO> getAvailabilitiesByDoctor(Long doctorId) {
-        if (!doctorRepository.existsById(doctorId)) {
+        if (!doctorRepository.existsCached(doctorId)) {
             throw new ResourceNotFoundException("Doctor", "id", doctorId);
         }
         return availabilityRepository.findByDoctorId(doctorId).stream()
@@ -83,7 +178,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
     @Override
     @Transactional(readOnly = true)
     public List<AvailabilityDTO> getAvailabilitiesByDoctorAndDate(Long doctorId, LocalDate date) {
-        if (!doctorRepository.existsById(doctorId)) {
+        if (!doctorRepository.existsCached(doctorId)) {
             throw new ResourceNotFoundException("Doctor", "id", doctorId);
         }
         return availabilityRepository.findByDoctorIdAndDate(doctorId, date).stream()
@@ -91,29 +186,59 @@ public class AvailabilityServiceImpl implements AvailabilityService {
                 .collect(Collectors.toList());
     }
 
+    // Free-slot reads are coalesced outside a transaction so waiting callers hold no connection;
+    // the slot version in the key makes callers arriving after a booking or hold start a new flight
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<AvailabilityDTO> getAvailableSlotsByDoctorAndDate(Long doctorId, LocalDate date) {
-        if (!doctorRepository.existsById(doctorId)) {
-            throw new ResourceNotFoundException("Doctor", "id", doctorId);
+        FreeSlotIndex.Partition partition = freeSlotIndex.partition(date);
+        if (partition != null) {
+            if (!doctorRepository.existsCached(doctorId)) {
+                throw new ResourceNotFoundException("Doctor", "id", doctorId);
+            }
+            return partition.list(doctorId, null, null, null, Integer.MAX_VALUE, slotHoldService::isHeld);
         }
-        return availabilityRepository.findByDoctorIdAndDateAndIsAvailable(doctorId, date, true).stream()
-                .map(availabilityMapper::toDTO)
-                .collect(Collectors.toList());
+        return singleFlight.execute("doctor|" + doctorId + "|" + date + "|" + resourceVersionService.doctorDateTag(doctorId, date),
+                () -> LaneRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> {
+                    if (!doctorRepository.existsCached(doctorId)) {
+                        throw new ResourceNotFoundException("Doctor", "id", doctorId);
+                    }
+                    return availabilityRepository.findByDoctorIdAndDateAndIsAvailable(doctorId, date, true).stream()
+                            .filter(availability -> !slotHoldService.isHeld(availability.getId()))
+                            .map(availabilityMapper::toDTO)
+                            .collect(Collectors.toUnmodifiableList());
+                })));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<AvailabilityDTO> getAvailableSlotsByDate(LocalDate date) {
-        return availabilityRepository.findByDateAndIsAvailable(date, true).stream()
-                .map(availabilityMapper::toDTO)
-                .collect(Collectors.toList());
+        return getAvailableSlotsByDate(date, null, null, null, null);
+    }
+
+    // Served from the in-memory free-slot index; the database is only read to load a date once
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<AvailabilityDTO> getAvailableSlotsByDate(LocalDate date, String specialization,
+                                                         LocalTime afterStartTime, Long afterId, Integer limit) {
+        if ((afterStartTime == null) != (afterId == null)) {
+            throw new BadRequestException("afterStartTime and afterId must be given together");
+        }
+        if (limit != null && limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+        FreeSlotIndex.Partition partition = freeSlotIndex.partition(date);
+        if (partition == null) {
+            partition = loadFreeSlots(date);
+        }
+        return partition.list(null, specialization, afterStartTime, afterId,
+                limit != null ? limit : Integer.MAX_VALUE, slotHoldService::isHeld);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<AvailabilityDTO> getUpcomingAvailabilitiesByDoctor(Long doctorId) {
-        if (!doctorRepository.existsById(doctorId)) {
+        if (!doctorRepository.existsCached(doctorId)) {
             throw new ResourceNotFoundException("Doctor", "id", doctorId);
         }
         return availabilityRepository.findByDoctorIdAndDateAfter(doctorId, LocalDate.now()).stream()
@@ -121,6 +246,101 @@ public class AvailabilityServiceImpl implements AvailabilityService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAvailabilityFields(Long doctorId, LocalDate date, boolean onlyAvailable, String fields) {
+        Map<String, String> selection = FieldSelection.parse(fields, SELECTABLE_FIELDS);
+        if (doctorId != null && !doctorRepository.existsCached(doctorId)) {
+            throw new ResourceNotFoundException("Doctor", "id", doctorId);
+        }
+        // Held slots are filtered by ID, so it is selected even when the client did not ask for it
+        boolean idRequested = selection.containsKey("id");
+        if (onlyAvailable && !idRequested) {
+            selection.put("id", "id");
+        }
+
+        Specification<Availability> where = (root, query, cb) -> cb.and(
+                doctorId != null ? cb.equal(root.get("doctor").get("id"), doctorId) : cb.conjunction(),
+                date != null ? cb.equal(root.get("date"), date) : cb.conjunction(),
+                onlyAvailable ? cb.isTrue(root.get("isAvailable")) : cb.conjunction());
+        List<Map<String, Object>> rows = fieldProjectionRepository.findFields(Availability.class, selection, where, Sort.unsorted());
+
+        Iterator<Map<String, Object>> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            Map<String, Object> row = iterator.next();
+            if (onlyAvailable && slotHoldService.isHeld((Long) row.get("id"))) {
+                iterator.remove();
+                continue;
+            }
+            if (!idRequested) {
+                row.remove("id");
+            }
+            // Match the HH:mm format AvailabilityDTO uses for slot times
+            row.computeIfPresent("startTime", (field, value) -> ((LocalTime) value).format(TIME_FORMAT));
+            row.computeIfPresent("endTime", (field, value) -> ((LocalTime) value).format(TIME_FORMAT));
+        }
+        return rows;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DoctorScheduleDTO getDoctorSchedule(Long doctorId, LocalDate fromDate, LocalDate toDate, boolean onlyFree) {
+        return getDoctorSchedules(List.of(doctorId), fromDate, toDate, onlyFree).get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DoctorScheduleDTO> getDoctorSchedules(List<Long> doctorIds, LocalDate fromDate, LocalDate toDate, boolean onlyFree) {
+        if (toDate.isBefore(fromDate)) {
+            throw new BadRequestException("From date must not be after to date");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= maxRangeDays) {
+            throw new BadRequestException("Date range cannot exceed " + maxRangeDays + " days");
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(doctorIds);
+        if (uniqueIds.isEmpty() || uniqueIds.size() > maxRangeDoctors) {
+            throw new BadRequestException("Between 1 and " + maxRangeDoctors + " doctor IDs are required");
+        }
+
+        // One lookup for every doctor, one range query for every slot
+        Map<Long, DoctorScheduleDTO> schedules = new LinkedHashMap<>();
+        for (Long doctorId : uniqueIds) {
+            schedules.put(doctorId, null);
+        }
+        for (Doctor doctor : doctorRepository.findAllById(uniqueIds)) {
+            DoctorScheduleDTO schedule = new DoctorScheduleDTO();
+            schedule.setDoctorId(doctor.getId());
+            schedule.setDoctorName(doctor.getName());
+            schedule.setSpecialization(doctor.getSpecialization());
+            schedule.setFromDate(fromDate);
+            schedule.setToDate(toDate);
+            schedules.put(doctor.getId(), schedule);
+        }
+        schedules.forEach((doctorId, schedule) -> {
+            if (schedule == null) {
+                throw new ResourceNotFoundException("Doctor", "id", doctorId);
+            }
+        });
+
+        List<SlotRow> rows = onlyFree
+                ? availabilityRepository.findFreeSlotsInRange(uniqueIds, fromDate, toDate)
+                : availabilityRepository.findSlotsInRange(uniqueIds, fromDate, toDate);
+        for (SlotRow row : rows) {
+            if (onlyFree && slotHoldService.isHeld(row.getId())) {
+                continue;
+            }
+            // Rows arrive ordered by doctor and date, so a day only ever extends the last group
+            List<DailySlotsDTO> days = schedules.get(row.getDoctorId()).getDays();
+            DailySlotsDTO day = days.isEmpty() ? null : days.get(days.size() - 1);
+            if (day == null || !day.getDate().equals(row.getDate())) {
+                day = new DailySlotsDTO(row.getDate());
+                days.add(day);
+            }
+            day.getSlots().add(new SlotDTO(row.getId(), row.getStartTime(), row.getEndTime(), row.getIsAvailable()));
+        }
+        return List.copyOf(schedules.values());
+    }
+
     @Override
     public AvailabilityDTO updateAvailability(Long id, AvailabilityDTO availabilityDTO) {
         Availability existingAvailability = availabilityRepository.findById(id)
@@ -131,17 +351,29 @@ public class AvailabilityServiceImpl implements AvailabilityService {
             throw new BadRequestException("Start time must be before end time");
         }
 
+        LocalDate previousDate = existingAvailability.getDate();
         availabilityMapper.updateEntityFromDTO(availabilityDTO, existingAvailability);
         Availability updatedAvailability = availabilityRepository.save(existingAvailability);
+        appointmentViewService.refreshAvailability(updatedAvailability);
+
+        // Moving a slot to another day removes it from the old day's subscribers
+        if (!previousDate.equals(updatedAvailability.getDate())) {
+            eventPublisher.publishEvent(new AvailabilityChangedEvent(ChangeType.DELETED, id,
+                    updatedAvailability.getDoctor().getId(), previousDate, null, null, false));
+        }
+        publishChange(ChangeType.UPDATED, updatedAvailability);
         return availabilityMapper.toDTO(updatedAvailability);
     }
 
     @Override
     public void deleteAvailability(Long id) {
-        if (!availabilityRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Availability", "id", id);
-        }
-        availabilityRepository.deleteById(id);
+        Availability availability = availabilityRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Availability", "id", id));
+        appointmentViewService.removeByAvailability(id);
+        slotHoldService.releaseSlot(id);
+        availabilityRepository.delete(availability);
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(ChangeType.DELETED, id,
+                availability.getDoctor().getId(), availability.getDate(), null, null, false));
     }
 
     @Override
@@ -150,6 +382,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
                 .orElseThrow(() -> new ResourceNotFoundException("Availability", "id", availabilityId));
         availability.setIsAvailable(false);
         availabilityRepository.save(availability);
+        publishChange(ChangeType.BOOKED, availability);
     }
 
     @Override
@@ -158,5 +391,97 @@ public class AvailabilityServiceImpl implements AvailabilityService {
                 .orElseThrow(() -> new ResourceNotFoundException("Availability", "id", availabilityId));
         availability.setIsAvailable(true);
         availabilityRepository.save(availability);
+        publishChange(ChangeType.RELEASED, availability);
+    }
+
+    @Override
+    public void doctorChanged(Long doctorId) {
+        // Renames and deletions touch every date the doctor has slots on; reload lazily
+        TransactionCallbacks.afterCommit(freeSlotIndex::clear);
+    }
+
+    // Used when another node changed the date; the partition is reloaded on its next read
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void evictFreeSlots(LocalDate date) {
+        freeSlotIndex.evict(date);
+    }
+
+    // Pinned dates survive capacity eviction; missing ones are loaded now so the first reader doesn't pay for it
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void pinFreeSlotDates(Set<LocalDate> dates) {
+        freeSlotIndex.pin(dates);
+        for (LocalDate date : dates) {
+            if (freeSlotIndex.partition(date) == null) {
+                loadFreeSlots(date);
+            }
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Set<LocalDate> getPinnedFreeSlotDates() {
+        return freeSlotIndex.pinned();
+    }
+
+    /**
+     * Applies a committed slot change to the loaded partition of its date. The slot is
+     * re-read under the partition lock rather than trusting the event type, so changes
+     * committed concurrently by different threads converge on the latest database state.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        FreeSlotIndex.Partition partition = freeSlotIndex.changed(event.getDate());
+        if (partition == null) {
+            return;
+        }
+        synchronized (partition) {
+            Optional<Availability> current = LaneRoutingDataSource.onPrimary(
+                    () -> availabilityRepository.findWithDoctorById(event.getAvailabilityId()));
+            if (current.isPresent() && Boolean.TRUE.equals(current.get().getIsAvailable())
+                    && current.get().getDate().equals(event.getDate())) {
+                partition.put(toFreeSlot(current.get()));
+            } else {
+                partition.remove(event.getAvailabilityId());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${free-slot-index.eviction-cron:0 10 0 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void evictPastFreeSlots() {
+        freeSlotIndex.evictBefore(LocalDate.now());
+    }
+
+    private FreeSlotIndex.Partition loadFreeSlots(LocalDate date) {
+        return singleFlight.execute("free-slots|" + date, () -> {
+            List<FreeSlotIndex.FreeSlot> slots = List.of();
+            for (int attempt = 0; attempt < MAX_FREE_SLOT_LOADS; attempt++) {
+                FreeSlotIndex.Stamp stamp = freeSlotIndex.stamp(date);
+                freeSlotLoads.increment();
+                slots = LaneRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(
+                        status -> availabilityRepository.findFreeWithDoctorByDate(date).stream()
+                                .map(this::toFreeSlot)
+                                .collect(Collectors.toList())));
+                FreeSlotIndex.Partition installed = freeSlotIndex.install(date, stamp, slots);
+                if (installed != null) {
+                    return installed;
+                }
+            }
+            // The date kept changing while loading; answer from the last snapshot without caching it
+            return FreeSlotIndex.detached(slots);
+        });
+    }
+
+    private FreeSlotIndex.FreeSlot toFreeSlot(Availability availability) {
+        return new FreeSlotIndex.FreeSlot(availabilityMapper.toDTO(availability), availability.getDoctor().getSpecialization());
+    }
+
+    private void publishChange(ChangeType changeType, Availability availability) {
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(changeType, availability.getId(),
+                availability.getDoctor().getId(), availability.getDate(), availability.getStartTime(),
+                availability.getEndTime(), availability.getIsAvailable()));
     }
 }
\ No newline at end of file
@@ -1,15 +1,36 @@
 package com.appointment.booking.service.impl;
 
+import com.appointment.booking.config.LaneRoutingDataSource;
 import com.appointment.booking.dto.DoctorDTO;
+import com.appointment.booking.dto.ImportRowErrorDTO;
+import com.appointment.booking.dto.ImportSummaryDTO;
 import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.event.InvalidationBus;
 import com.appointment.booking.exception.ResourceNotFoundException;
 import com.appointment.booking.mapper.DoctorMapper;
+import com.appointment.booking.repository.BulkInsertRepository;
 import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.service.AppointmentViewService;
+import com.appointment.booking.service.AvailabilityService;
 import com.appointment.booking.service.DoctorService;
+import com.appointment.booking.service.ResourceVersionService;
+import com.appointment.booking.util.ImportRecordReader;
+import com.appointment.booking.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,17 +39,53 @@ public class DoctorServiceImpl implements DoctorService {
 
     private final DoctorRepository doctorRepository;
     private final DoctorMapper doctorMapper;
+    private final AppointmentViewService appointmentViewService;
+    private final ResourceVersionService resourceVersionService;
+    private final AvailabilityService availabilityService;
+    private final InvalidationBus invalidationBus;
+    private final BulkInsertRepository bulkInsertRepository;
+    private final Validator validator;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transactionTemplate;
+    private final int importBatchSize;
+    private final SingleFlight singleFlight = new SingleFlight();
 
     @Autowired
-    public DoctorServiceImpl(DoctorRepository doctorRepository, DoctorMapper doctorMapper) {
+    public DoctorServiceImpl(DoctorRepository doctorRepository, DoctorMapper doctorMapper,
+                             AppointmentViewService appointmentViewService,
+                             ResourceVersionService resourceVersionService,
+                             AvailabilityService availabilityService,
+                             InvalidationBus invalidationBus,
+                             BulkInsertRepository bulkInsertRepository,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${bulk-import.batch-size:500}") int importBatchSize) {
         this.doctorRepository = doctorRepository;
         this.doctorMapper = doctorMapper;
+        this.appointmentViewService = appointmentViewService;
+        this.resourceVersionService = resourceVersionService;
+        this.availabilityService = availabilityService;
+        this.invalidationBus = invalidationBus;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importBatchSize = importBatchSize;
+
+        FunctionCounter.builder("singleflight.coalesced", singleFlight, SingleFlight::coalescedCount)
+                .description("Reads served by joining an identical in-flight call")
+                .tag("service", "doctors")
+                .register(meterRegistry);
     }
 
     @Override
     public DoctorDTO createDoctor(DoctorDTO doctorDTO) {
         Doctor doctor = doctorMapper.toEntity(doctorDTO);
         Doctor savedDoctor = doctorRepository.save(doctor);
+        resourceVersionService.doctorDirectoryChanged();
+        invalidationBus.doctorDirectoryChanged();
         return doctorMapper.toDTO(savedDoctor);
     }
 
@@ -40,20 +97,24 @@ public class DoctorServiceImpl implements DoctorService {
         return doctorMapper.toDTO(doctor);
     }
 
+    // Directory reads are coalesced outside a transaction so waiting callers hold no connection;
+    // the directory version in the key makes callers arriving after a write start a new flight
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<DoctorDTO> getAllDoctors() {
-        return doctorRepository.findAll().stream()
-                .map(doctorMapper::toDTO)
-                .collect(Collectors.toList());
+        return singleFlight.execute("all|" + resourceVersionService.directoryTag(),
+                () -> LaneRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> doctorRepository.findAll().stream()
+                        .map(doctorMapper::toDTO)
+                        .collect(Collectors.toUnmodifiableList()))));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<DoctorDTO> getDoctorsBySpecialization(String specialization) {
-        return doctorRepository.findBySpecializationIgnoreCase(specialization).stream()
-                .map(doctorMapper::toDTO)
-                .collect(Collectors.toList());
+        return singleFlight.execute("specialization|" + specialization.toLowerCase(Locale.ROOT) + "|" + resourceVersionService.directoryTag(),
+                () -> LaneRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> doctorRepository.findBySpecializationIgnoreCase(specialization).stream()
+                        .map(doctorMapper::toDTO)
+                        .collect(Collectors.toUnmodifiableList()))));
     }
 
     @Override
@@ -65,9 +126,10 @@ public class DoctorServiceImpl implements DoctorService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<String> getAllSpecializations() {
-        return doctorRepository.findAllSpecializations();
+        return singleFlight.execute("specializations|" + resourceVersionService.directoryTag(),
+                () -> LaneRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> List.copyOf(doctorRepository.findAllSpecializations()))));
     }
 
     @Override
@@ -77,6 +139,10 @@ public class DoctorServiceImpl implements DoctorService {
 
         doctorMapper.updateEntityFromDTO(doctorDTO, existingDoctor);
         Doctor updatedDoctor = doctorRepository.save(existingDoctor);
+        appointmentViewService.refreshDoctor(updatedDoctor);
+        resourceVersionService.doctorChanged(id);
+        availabilityService.doctorChanged(id);
+        invalidationBus.doctorChanged(id);
         return doctorMapper.toDTO(updatedDoctor);
     }
 
@@ -85,6 +151,53 @@ public class DoctorServiceImpl implements DoctorService {
         if (!doctorRepository.existsById(id)) {
             throw new ResourceNotFoundException("Doctor", "id", id);
         }
+        appointmentViewService.removeByDoctor(id);
         doctorRepository.deleteById(id);
+        resourceVersionService.doctorChanged(id);
+        availabilityService.doctorChanged(id);
+        invalidationBus.doctorChanged(id);
+    }
+
+    /**
+     * Imports doctors in batches, each in its own transaction, after validating every row
+     * with the entity's constraints.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportSummaryDTO importDoctors(ImportRecordReader reader, Consumer<ImportRowErrorDTO> errors) {
+        ImportReport report = new ImportReport(errors);
+        List<Doctor> batch = new ArrayList<>(importBatchSize);
+        ImportRecordReader.Record record;
+        while ((record = reader.next()) != null) {
+            report.read();
+            if (record.error() != null) {
+                report.reject(record.line(), "record", record.error());
+                continue;
+            }
+            Doctor doctor = new Doctor(record.fields().get("name"), record.fields().get("specialization"));
+            Map<String, String> violations = ImportReport.violations(validator, doctor);
+            if (!violations.isEmpty()) {
+                report.reject(record.line(), violations);
+                continue;
+            }
+            batch.add(doctor);
+            if (batch.size() >= importBatchSize) {
+                writeDoctorBatch(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeDoctorBatch(batch, report);
+        }
+        return report.summary();
+    }
+
+    private void writeDoctorBatch(List<Doctor> batch, ImportReport report) {
+        transactionTemplate.executeWithoutResult(status -> {
+            bulkInsertRepository.insertDoctors(batch);
+            resourceVersionService.doctorDirectoryChanged();
+            invalidationBus.doctorDirectoryChanged();
+        });
+        report.imported(batch.size());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,229 @@
+package com.appointment.booking.service.impl;
+
+import com.appointment.booking.dto.AvailabilityDTO;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * In-memory index of free slots across all doctors, partitioned by date. Each partition is
+ * a skip list ordered by (start time, availability id), with one more such list per doctor,
+ * so a day's free slots, or one doctor's, are read in order, optionally from a cursor,
+ * without touching the database or scanning other doctors' slots. Partitions are loaded on
+ * first use; a per-date change stamp stops a load that raced with a write from being installed.
+ * Beyond maxDates partitions the least recently read one is evicted, except pinned dates.
+ */
+class FreeSlotIndex {
+
+    private final Map<LocalDate, Partition> partitions = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Long> changes = new ConcurrentHashMap<>();
+    private final AtomicLong resets = new AtomicLong();
+    private final int maxDates;
+    private volatile Set<LocalDate> pinned = Set.of();
+
+    FreeSlotIndex(int maxDates) {
+        this.maxDates = maxDates;
+    }
+
+    Partition partition(LocalDate date) {
+        Partition partition = partitions.get(date);
+        if (partition != null) {
+            partition.lastReadNanos = System.nanoTime();
+        }
+        return partition;
+    }
+
+    void pin(Set<LocalDate> dates) {
+        pinned = Set.copyOf(dates);
+    }
+
+    Set<LocalDate> pinned() {
+        return pinned;
+    }
+
+    Stamp stamp(LocalDate date) {
+        return new Stamp(resets.get(), changes.getOrDefault(date, 0L));
+    }
+
+    /**
+     * Installs a freshly loaded partition unless the date changed since the stamp was
+     * taken. Returns the installed (or already present) partition, or null if stale.
+     */
+    Partition install(LocalDate date, Stamp stamp, List<FreeSlot> slots) {
+        Partition installed = partitions.compute(date, (d, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return stamp.equals(stamp(d)) ? new Partition(slots) : null;
+        });
+        if (installed != null && partitions.size() > maxDates) {
+            evictLeastRecentlyRead(date);
+        }
+        return installed;
+    }
+
+    private void evictLeastRecentlyRead(LocalDate keep) {
+        Set<LocalDate> pinnedDates = pinned;
+        LocalDate coldest = null;
+        long coldestRead = 0;
+        for (Map.Entry<LocalDate, Partition> entry : partitions.entrySet()) {
+            LocalDate date = entry.getKey();
+            if (date.equals(keep) || pinnedDates.contains(date)) {
+                continue;
+            }
+            if (coldest == null || entry.getValue().lastReadNanos - coldestRead < 0) {
+                coldest = date;
+                coldestRead = entry.getValue().lastReadNanos;
+            }
+        }
+        if (coldest != null) {
+            partitions.remove(coldest);
+        }
+    }
+
+    /**
+     * Records a committed change on the date and returns its partition if one is loaded.
+     * A load that has not installed yet will see the new stamp and be discarded.
+     */
+    Partition changed(LocalDate date) {
+        Partition[] loaded = new Partition[1];
+        partitions.compute(date, (d, partition) -> {
+            changes.merge(d, 1L, Long::sum);
+            loaded[0] = partition;
+            return partition;
+        });
+        return loaded[0];
+    }
+
+    void evict(LocalDate date) {
+        partitions.compute(date, (d, partition) -> {
+            changes.merge(d, 1L, Long::sum);
+            return null;
+        });
+    }
+
+    void clear() {
+        resets.incrementAndGet();
+        partitions.clear();
+    }
+
+    void evictBefore(LocalDate date) {
+        partitions.keySet().removeIf(d -> d.isBefore(date));
+        changes.keySet().removeIf(d -> d.isBefore(date));
+    }
+
+    int size() {
+        return partitions.size();
+    }
+
+    record Stamp(long resets, long changes) {
+    }
+
+    record FreeSlot(AvailabilityDTO availability, String specialization) {
+
+        FreeSlot(AvailabilityDTO availability, String specialization) {
+            this.availability = availability;
+            this.specialization = specialization != null ? specialization.toLowerCase(Locale.ROOT) : null;
+        }
+
+        private SlotKey key() {
+            return new SlotKey(availability.getStartTime(), availability.getId());
+        }
+    }
+
+    private record SlotKey(LocalTime startTime, Long id) implements Comparable<SlotKey> {
+
+        @Override
+        public int compareTo(SlotKey other) {
+            int byTime = startTime.compareTo(other.startTime);
+            return byTime != 0 ? byTime : id.compareTo(other.id);
+        }
+    }
+
+    /**
+     * Free slots of one date. Reads are lock-free; writers synchronize on the partition so
+     * that a re-read of a slot and its application happen in commit order.
+     */
+    static final class Partition {
+
+        private final NavigableMap<SlotKey, FreeSlot> slots = new ConcurrentSkipListMap<>();
+        private final Map<Long, NavigableMap<SlotKey, FreeSlot>> slotsByDoctor = new ConcurrentHashMap<>();
+        private final Map<Long, FreeSlot> slotsById = new ConcurrentHashMap<>();
+        private volatile long lastReadNanos = System.nanoTime();
+
+        private Partition(List<FreeSlot> initial) {
+            initial.forEach(this::put);
+        }
+
+        void put(FreeSlot slot) {
+            remove(slot.availability().getId());
+            SlotKey key = slot.key();
+            slots.put(key, slot);
+            slotsByDoctor.computeIfAbsent(slot.availability().getDoctorId(), d -> new ConcurrentSkipListMap<>())
+                    .put(key, slot);
+            slotsById.put(key.id(), slot);
+        }
+
+        void remove(Long availabilityId) {
+            FreeSlot slot = slotsById.remove(availabilityId);
+            if (slot == null) {
+                return;
+            }
+            SlotKey key = slot.key();
+            slots.remove(key);
+            Long doctorId = slot.availability().getDoctorId();
+            NavigableMap<SlotKey, FreeSlot> doctorSlots = slotsByDoctor.get(doctorId);
+            if (doctorSlots != null) {
+                doctorSlots.remove(key);
+                if (doctorSlots.isEmpty()) {
+                    slotsByDoctor.remove(doctorId, doctorSlots);
+                }
+            }
+        }
+
+        /**
+         * Returns up to limit slots in start-time order, strictly after the (afterStartTime,
+         * afterId) cursor when one is given, skipping excluded ids. A null doctorId or
+         * specialization matches every slot.
+         */
+        List<AvailabilityDTO> list(Long doctorId, String specialization, LocalTime afterStartTime, Long afterId,
+                                   int limit, Predicate<Long> excluded) {
+            NavigableMap<SlotKey, FreeSlot> source = doctorId != null
+                    ? slotsByDoctor.getOrDefault(doctorId, Collections.emptyNavigableMap())
+                    : slots;
+            NavigableMap<SlotKey, FreeSlot> view = afterStartTime != null
+                    ? source.tailMap(new SlotKey(afterStartTime, afterId), false)
+                    : source;
+            String wanted = specialization != null ? specialization.toLowerCase(Locale.ROOT) : null;
+            // Skip-list size() walks the whole map and limit may be unbounded, so no presizing
+            List<AvailabilityDTO> result = new ArrayList<>();
+            for (FreeSlot slot : view.values()) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (wanted != null && !wanted.equals(slot.specialization())) {
+                    continue;
+                }
+                if (excluded.test(slot.availability().getId())) {
+                    continue;
+                }
+                result.add(slot.availability());
+            }
+            return Collections.unmodifiableList(result);
+        }
+    }
+
+    static Partition detached(List<FreeSlot> slots) {
+        return new Partition(slots);
+    }
+}
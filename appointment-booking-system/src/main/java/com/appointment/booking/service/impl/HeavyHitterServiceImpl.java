@@ -0,0 +1,117 @@
+package com.appointment.booking.service.impl;
+
+import com.appointment.booking.dto.HeavyHitterDTO;
+import com.appointment.booking.dto.HeavyHittersDTO;
+import com.appointment.booking.service.AvailabilityService;
+import com.appointment.booking.service.HeavyHitterService;
+import com.appointment.booking.util.SpaceSaving;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks the most requested doctors and dates with Space-Saving sketches fed from the
+ * availability and booking endpoints. A periodic rebalance pins the free-slot index
+ * partitions of hot dates, and of the next few days for hot doctors, so they are loaded
+ * ahead of demand and never evicted while hot. Counts decay so the picture follows
+ * current traffic.
+ */
+@Service
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class HeavyHitterServiceImpl implements HeavyHitterService {
+
+    private static final Logger log = LoggerFactory.getLogger(HeavyHitterServiceImpl.class);
+
+    private final AvailabilityService availabilityService;
+    private final SpaceSaving<Long> doctors;
+    private final SpaceSaving<LocalDate> dates;
+    private final int top;
+    private final long minCount;
+    private final int prewarmDays;
+
+    @Autowired
+    public HeavyHitterServiceImpl(AvailabilityService availabilityService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${heavy-hitters.capacity:128}") int capacity,
+                                  @Value("${heavy-hitters.top:10}") int top,
+                                  @Value("${heavy-hitters.min-count:20}") long minCount,
+                                  @Value("${heavy-hitters.prewarm-days:7}") int prewarmDays) {
+        this.availabilityService = availabilityService;
+        this.doctors = new SpaceSaving<>(capacity);
+        this.dates = new SpaceSaving<>(capacity);
+        this.top = top;
+        this.minCount = minCount;
+        this.prewarmDays = prewarmDays;
+        Gauge.builder("heavy.hitters.pinned.dates", availabilityService, service -> service.getPinnedFreeSlotDates().size())
+                .description("Dates pinned in the free-slot index because of heavy traffic")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordDoctor(Long doctorId) {
+        doctors.offer(doctorId);
+    }
+
+    @Override
+    public void recordDate(LocalDate date) {
+        dates.offer(date);
+    }
+
+    @Override
+    public void recordDoctorDate(Long doctorId, LocalDate date) {
+        doctors.offer(doctorId);
+        dates.offer(date);
+    }
+
+    @Override
+    public HeavyHittersDTO getHeavyHitters() {
+        return new HeavyHittersDTO(toDTOs(doctors.top(top)), toDTOs(dates.top(top)),
+                new TreeSet<>(availabilityService.getPinnedFreeSlotDates()));
+    }
+
+    @Scheduled(fixedDelayString = "${heavy-hitters.rebalance-ms:10000}")
+    public void rebalance() {
+        LocalDate today = LocalDate.now();
+        Set<LocalDate> hotDates = new TreeSet<>();
+        // Only keys whose lower bound clears the threshold count, so an evicted key's inherited error can't pin anything
+        for (SpaceSaving.Estimate<LocalDate> estimate : dates.top(top)) {
+            if (estimate.guaranteedCount() >= minCount && !estimate.key().isBefore(today)) {
+                hotDates.add(estimate.key());
+            }
+        }
+        boolean hotDoctor = doctors.top(top).stream().anyMatch(estimate -> estimate.guaranteedCount() >= minCount);
+        if (hotDoctor) {
+            for (int day = 0; day <= prewarmDays; day++) {
+                hotDates.add(today.plusDays(day));
+            }
+        }
+        if (!hotDates.equals(availabilityService.getPinnedFreeSlotDates())) {
+            log.debug("Pinning free slots for hot dates {}", hotDates);
+        }
+        availabilityService.pinFreeSlotDates(hotDates);
+    }
+
+    @Scheduled(fixedDelayString = "${heavy-hitters.decay-interval-ms:60000}")
+    public void decay() {
+        doctors.decay();
+        dates.decay();
+    }
+
+    private static <K> List<HeavyHitterDTO> toDTOs(List<SpaceSaving.Estimate<K>> estimates) {
+        return estimates.stream()
+                .map(estimate -> new HeavyHitterDTO(estimate.key().toString(), estimate.count(), estimate.error()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,60 @@
+package com.appointment.booking.service.impl;
+
+import com.appointment.booking.dto.ImportRowErrorDTO;
+import com.appointment.booking.dto.ImportSummaryDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Running tally of a bulk import. Rejected rows are handed to the caller's consumer as
+ * soon as they are known, so the report streams alongside the import.
+ */
+class ImportReport {
+
+    private final Consumer<ImportRowErrorDTO> errors;
+    private long total;
+    private long imported;
+    private long rejected;
+
+    ImportReport(Consumer<ImportRowErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    void read() {
+        total++;
+    }
+
+    void imported(int rows) {
+        imported += rows;
+    }
+
+    void reject(long line, Map<String, String> fieldErrors) {
+        rejected++;
+        errors.accept(new ImportRowErrorDTO(line, fieldErrors));
+    }
+
+    void reject(long line, String field, String message) {
+        reject(line, Map.of(field, message));
+    }
+
+    ImportSummaryDTO summary() {
+        return new ImportSummaryDTO(total, imported, rejected);
+    }
+
+    /**
+     * Bean-validation failures of the entity keyed by property, empty when it is valid.
+     */
+    static Map<String, String> violations(Validator validator, Object entity) {
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        for (ConstraintViolation<Object> violation : validator.validate(entity)) {
+            fieldErrors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return fieldErrors;
+    }
+
+    record Row<T>(long line, T entity) {
+    }
+}
@@ -0,0 +1,224 @@
+package com.appointment.booking.service.impl;
+
+import com.appointment.booking.dto.AppointmentDTO;
+import com.appointment.booking.entity.OutboxEvent;
+import com.appointment.booking.entity.OutboxEvent.EventType;
+import com.appointment.booking.event.OutboxMessage;
+import com.appointment.booking.event.OutboxSink;
+import com.appointment.booking.repository.OutboxEventRepository;
+import com.appointment.booking.service.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxServiceImpl.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final Duration retention;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration claimLease;
+    private final TransactionTemplate transactionTemplate;
+    // Identifies this node's claims; a restarted node leaves its old ones to expire
+    private final String relayId = UUID.randomUUID().toString();
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+    private final AtomicLong deadLetterEvents = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter deadLetteredCounter;
+    private final Timer lagTimer;
+
+    @Autowired
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             ObjectMapper objectMapper,
+                             List<OutboxSink> availableSinks,
+                             MeterRegistry meterRegistry,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${outbox.sinks:broker}") Set<String> enabledSinks,
+                             @Value("${outbox.relay.batch-size:100}") int batchSize,
+                             @Value("${outbox.relay.retention-minutes:60}") long retentionMinutes,
+                             @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                             @Value("${outbox.relay.backoff-ms:1000}") long backoffMillis,
+                             @Value("${outbox.relay.max-backoff-ms:300000}") long maxBackoffMillis,
+                             @Value("${outbox.relay.claim-lease-ms:60000}") long claimLeaseMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.sinks = availableSinks.stream()
+                .filter(sink -> enabledSinks.contains(sink.getName()))
+                .collect(Collectors.toList());
+        this.batchSize = batchSize;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.maxAttempts = maxAttempts;
+        this.backoff = Duration.ofMillis(backoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+        this.claimLease = Duration.ofMillis(claimLeaseMillis);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder("outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Outbox events not yet delivered to every sink")
+                .register(meterRegistry);
+        Gauge.builder("outbox.oldest.pending.age", oldestPendingAgeMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .description("Age of the oldest undelivered outbox event")
+                .register(meterRegistry);
+        Gauge.builder("outbox.dead_letter", deadLetterEvents, AtomicLong::get)
+                .description("Outbox events that ran out of delivery attempts")
+                .register(meterRegistry);
+        this.publishedCounter = meterRegistry.counter("outbox.published");
+        this.failedCounter = meterRegistry.counter("outbox.failed");
+        this.deadLetteredCounter = meterRegistry.counter("outbox.dead_lettered");
+        this.lagTimer = Timer.builder("outbox.lag")
+                .description("Time from outbox write to delivery")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAppointmentEvent(EventType eventType, AppointmentDTO appointment) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(appointment);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize outbox payload for " + appointment, ex);
+        }
+        outboxEventRepository.save(new OutboxEvent("Appointment", appointment.getId(),
+                appointment.getDoctorId(), eventType, payload));
+    }
+
+    /**
+     * Claims a batch, publishes it outside any transaction and records the outcome. The claim
+     * keeps relays on other nodes off the batch and its doctors while the sinks are called,
+     * without holding row locks that long. An outcome is only recorded for rows still claimed
+     * by this relay: if the lease ran out mid-batch, another relay may have taken the rows over
+     * and publishes them again, which sinks tolerate as at-least-once delivery.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int relayPendingEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch(now));
+        // Once a doctor's event fails, later events for that doctor wait so per-doctor order holds
+        Set<Long> blockedPartitions = new HashSet<>();
+        int published = 0;
+
+        for (OutboxEvent event : batch) {
+            if (blockedPartitions.contains(event.getPartitionKey())) {
+                continue;
+            }
+            OutboxMessage message = new OutboxMessage(event);
+            try {
+                for (OutboxSink sink : sinks) {
+                    sink.publish(message);
+                }
+            } catch (Exception ex) {
+                recordFailure(event, message, ex, now);
+                blockedPartitions.add(event.getPartitionKey());
+                continue;
+            }
+            event.setPublishedAt(now);
+            lagTimer.record(Duration.between(event.getCreatedAt(), now));
+            publishedCounter.increment();
+            published++;
+        }
+        if (!batch.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> recordOutcomes(batch));
+        }
+
+        pendingEvents.set(outboxEventRepository.countByPublishedAtIsNullAndFailedAtIsNull());
+        deadLetterEvents.set(outboxEventRepository.countByFailedAtIsNotNull());
+        oldestPendingAgeMillis.set(batch.stream()
+                .filter(event -> event.getPublishedAt() == null && event.getFailedAt() == null)
+                .findFirst()
+                .map(event -> Duration.between(event.getCreatedAt(), now).toMillis())
+                .orElse(0L));
+        return published;
+    }
+
+    private List<OutboxEvent> claimBatch(LocalDateTime now) {
+        List<OutboxEvent> candidates = outboxEventRepository.findPending(now, PageRequest.of(0, batchSize));
+        Set<Long> blockedPartitions = new HashSet<>(outboxEventRepository.findBlockedPartitions(now));
+        List<OutboxEvent> batch = candidates.stream()
+                .filter(event -> !blockedPartitions.contains(event.getPartitionKey()))
+                .collect(Collectors.toList());
+        LocalDateTime claimedUntil = now.plus(claimLease);
+        for (OutboxEvent event : batch) {
+            event.setClaimedBy(relayId);
+            event.setClaimedUntil(claimedUntil);
+        }
+        return batch;
+    }
+
+    private void recordOutcomes(List<OutboxEvent> batch) {
+        Map<Long, OutboxEvent> outcomes = batch.stream()
+                .collect(Collectors.toMap(OutboxEvent::getId, Function.identity()));
+        for (OutboxEvent event : outboxEventRepository.findAllById(outcomes.keySet())) {
+            if (!relayId.equals(event.getClaimedBy())) {
+                continue;
+            }
+            OutboxEvent outcome = outcomes.get(event.getId());
+            event.setPublishedAt(outcome.getPublishedAt());
+            event.setAttempts(outcome.getAttempts());
+            event.setNextAttemptAt(outcome.getNextAttemptAt());
+            event.setFailedAt(outcome.getFailedAt());
+            event.setClaimedBy(null);
+            event.setClaimedUntil(null);
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, OutboxMessage message, Exception ex, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        failedCounter.increment();
+        if (attempts >= maxAttempts) {
+            // Dead-lettered rows stay in the table for inspection; the doctor's later events move on
+            event.setFailedAt(now);
+            event.setNextAttemptAt(null);
+            deadLetteredCounter.increment();
+            log.error("Outbox delivery gave up on {} after {} attempts: {}", message, attempts, ex.getMessage());
+            return;
+        }
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        event.setNextAttemptAt(now.plus(delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay));
+        log.warn("Outbox delivery failed for {} (attempt {}): {}", message, attempts, ex.getMessage());
+    }
+
+    @Override
+    public int purgePublishedEvents() {
+        return outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+    }
+}
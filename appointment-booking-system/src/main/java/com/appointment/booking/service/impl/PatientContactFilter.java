@@ -0,0 +1,152 @@
+package com.appointment.booking.service.impl;
+
+import com.appointment.booking.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Bloom filters over registered patient emails and phones. A value the filter has never
+ * seen is definitely unused, so the uniqueness query is skipped; a probable hit falls
+ * through to the database. Until the first load completes every check goes to the
+ * database. Removed values stay in the filter as false positives until the next rebuild.
+ */
+class PatientContactFilter {
+
+    enum Field {
+        EMAIL, PHONE
+    }
+
+    private final double falsePositiveRate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong removals = new AtomicLong();
+    private final Counter[] definiteNegatives = new Counter[Field.values().length];
+    private final Counter[] falsePositives = new Counter[Field.values().length];
+    private final Counter[] truePositives = new Counter[Field.values().length];
+    private volatile Filters current;
+    private Filters building;
+
+    PatientContactFilter(double falsePositiveRate, MeterRegistry meterRegistry) {
+        this.falsePositiveRate = falsePositiveRate;
+        for (Field field : Field.values()) {
+            String tag = field.name().toLowerCase(Locale.ROOT);
+            definiteNegatives[field.ordinal()] = meterRegistry.counter("patient.uniqueness.checks", "field", tag, "result", "definite_negative");
+            falsePositives[field.ordinal()] = meterRegistry.counter("patient.uniqueness.checks", "field", tag, "result", "false_positive");
+            truePositives[field.ordinal()] = meterRegistry.counter("patient.uniqueness.checks", "field", tag, "result", "true_positive");
+            Gauge.builder("patient.uniqueness.filter.expected_fpp", this, filter -> filter.expectedFalsePositiveRate(field))
+                    .description("False-positive probability implied by the filter's current fill")
+                    .tag("field", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Returns whether the value is taken, asking the database only when the filter cannot
+     * rule it out.
+     */
+    boolean exists(Field field, String value, BooleanSupplier database) {
+        Filters filters = current;
+        if (filters != null && value != null && !filters.get(field).mightContain(value)) {
+            definiteNegatives[field.ordinal()].increment();
+            return false;
+        }
+        boolean exists = database.getAsBoolean();
+        if (filters != null) {
+            (exists ? truePositives : falsePositives)[field.ordinal()].increment();
+        }
+        return exists;
+    }
+
+    void add(String email, String phone) {
+        lock.readLock().lock();
+        try {
+            Filters filters = current;
+            if (filters != null) {
+                filters.put(email, phone);
+            }
+            if (building != null) {
+                building.put(email, phone);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void removed() {
+        removals.incrementAndGet();
+    }
+
+    /**
+     * True once the filter holds more values than it was sized for, or once a tenth of its
+     * entries are stale.
+     */
+    boolean needsRebuild() {
+        Filters filters = current;
+        if (filters == null) {
+            return false;
+        }
+        long inserted = filters.emails.insertions();
+        return inserted > filters.emails.expectedInsertions() || removals.get() * 10 > inserted;
+    }
+
+    /**
+     * Starts a rebuild sized for the given number of patients. Values added from now on go
+     * into the new filters as well, so the caller must read the table only after this returns.
+     */
+    Filters startRebuild(long patients) {
+        lock.writeLock().lock();
+        try {
+            building = new Filters(patients, falsePositiveRate);
+            removals.set(0);
+            return building;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void finishRebuild(Filters rebuilt) {
+        lock.writeLock().lock();
+        try {
+            if (building == rebuilt) {
+                current = rebuilt;
+                building = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private double expectedFalsePositiveRate(Field field) {
+        Filters filters = current;
+        return filters != null ? filters.get(field).currentFalsePositiveRate() : Double.NaN;
+    }
+
+    static final class Filters {
+
+        private final BloomFilter emails;
+        private final BloomFilter phones;
+
+        private Filters(long expectedInsertions, double falsePositiveRate) {
+            this.emails = new BloomFilter(expectedInsertions, falsePositiveRate);
+            this.phones = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+
+        void put(String email, String phone) {
+            if (email != null) {
+                emails.put(email);
+            }
+            if (phone != null) {
+                phones.put(phone);
+            }
+        }
+
+        private BloomFilter get(Field field) {
+            return field == Field.EMAIL ? emails : phones;
+        }
+    }
+}
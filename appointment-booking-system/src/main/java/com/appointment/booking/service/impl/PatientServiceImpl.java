@@ -1,42 +1,106 @@
 package com.appointment.booking.service.impl;
 
+import com.appointment.booking.dto.ImportRowErrorDTO;
+import com.appointment.booking.dto.ImportSummaryDTO;
 import com.appointment.booking.dto.PatientDTO;
 import com.appointment.booking.entity.Patient;
+import com.appointment.booking.event.InvalidationBus;
+import com.appointment.booking.event.RemotePatientChangeEvent;
 import com.appointment.booking.exception.ConflictException;
 import com.appointment.booking.exception.ResourceNotFoundException;
 import com.appointment.booking.mapper.PatientMapper;
+import com.appointment.booking.repository.BulkInsertRepository;
+import com.appointment.booking.repository.PatientNaturalIdRepository;
 import com.appointment.booking.repository.PatientRepository;
+import com.appointment.booking.service.AppointmentViewService;
 import com.appointment.booking.service.PatientService;
+import com.appointment.booking.service.WaitlistService;
+import com.appointment.booking.util.ImportRecordReader;
+import com.appointment.booking.util.TransactionCallbacks;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class PatientServiceImpl implements PatientService {
 
+    private static final Logger log = LoggerFactory.getLogger(PatientServiceImpl.class);
+
     private final PatientRepository patientRepository;
+    private final PatientNaturalIdRepository patientNaturalIdRepository;
     private final PatientMapper patientMapper;
+    private final AppointmentViewService appointmentViewService;
+    private final WaitlistService waitlistService;
+    private final InvalidationBus invalidationBus;
+    private final BulkInsertRepository bulkInsertRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final PatientContactFilter contactFilter;
+    private final long filterMinCapacity;
+    private final int importBatchSize;
 
     @Autowired
-    public PatientServiceImpl(PatientRepository patientRepository, PatientMapper patientMapper) {
+    public PatientServiceImpl(PatientRepository patientRepository,
+                              PatientNaturalIdRepository patientNaturalIdRepository,
+                              PatientMapper patientMapper,
+                              AppointmentViewService appointmentViewService,
+                              WaitlistService waitlistService,
+                              InvalidationBus invalidationBus,
+                              BulkInsertRepository bulkInsertRepository,
+                              Validator validator,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${patient-filter.min-capacity:100000}") long filterMinCapacity,
+                              @Value("${patient-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                              @Value("${bulk-import.batch-size:500}") int importBatchSize) {
         this.patientRepository = patientRepository;
+        this.patientNaturalIdRepository = patientNaturalIdRepository;
         this.patientMapper = patientMapper;
+        this.appointmentViewService = appointmentViewService;
+        this.waitlistService = waitlistService;
+        this.invalidationBus = invalidationBus;
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.contactFilter = new PatientContactFilter(falsePositiveRate, meterRegistry);
+        this.filterMinCapacity = filterMinCapacity;
+        this.importBatchSize = importBatchSize;
     }
 
     @Override
     public PatientDTO createPatient(PatientDTO patientDTO) {
-        if (patientRepository.existsByEmail(patientDTO.getEmail())) {
+        if (existsByEmail(patientDTO.getEmail())) {
             throw new ConflictException("Patient with email '" + patientDTO.getEmail() + "' already exists");
         }
-        if (patientRepository.existsByPhone(patientDTO.getPhone())) {
+        if (existsByPhone(patientDTO.getPhone())) {
             throw new ConflictException("Patient with phone '" + patientDTO.getPhone() + "' already exists");
         }
 
         Patient patient = patientMapper.toEntity(patientDTO);
         Patient savedPatient = patientRepository.save(patient);
+        registerContacts(savedPatient);
+        invalidationBus.patientChanged(savedPatient.getId());
         return patientMapper.toDTO(savedPatient);
     }
 
@@ -51,7 +115,7 @@ public class PatientServiceImpl implements PatientService {
     @Override
     @Transactional(readOnly = true)
     public PatientDTO getPatientByEmail(String email) {
-        Patient patient = patientRepository.findByEmail(email)
+        Patient patient = patientNaturalIdRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient", "email", email));
         return patientMapper.toDTO(patient);
     }
@@ -69,8 +133,16 @@ public class PatientServiceImpl implements PatientService {
         Patient existingPatient = patientRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", id));
 
+        boolean contactsChanged = !Objects.equals(existingPatient.getEmail(), patientDTO.getEmail())
+                || !Objects.equals(existingPatient.getPhone(), patientDTO.getPhone());
         patientMapper.updateEntityFromDTO(patientDTO, existingPatient);
         Patient updatedPatient = patientRepository.save(existingPatient);
+        if (contactsChanged) {
+            registerContacts(updatedPatient);
+            TransactionCallbacks.afterCommit(contactFilter::removed);
+        }
+        appointmentViewService.refreshPatient(updatedPatient);
+        invalidationBus.patientChanged(id);
         return patientMapper.toDTO(updatedPatient);
     }
 
@@ -79,18 +151,165 @@ public class PatientServiceImpl implements PatientService {
         if (!patientRepository.existsById(id)) {
             throw new ResourceNotFoundException("Patient", "id", id);
         }
+        appointmentViewService.removeByPatient(id);
+        waitlistService.removeByPatient(id);
         patientRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(contactFilter::removed);
+        invalidationBus.patientChanged(id);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
-        return patientRepository.existsByEmail(email);
+        return contactFilter.exists(PatientContactFilter.Field.EMAIL, email,
+                () -> patientNaturalIdRepository.existsByEmail(email));
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existsByPhone(String phone) {
-        return patientRepository.existsByPhone(phone);
+        return contactFilter.exists(PatientContactFilter.Field.PHONE, phone,
+                () -> patientRepository.existsByPhone(phone));
+    }
+
+    /**
+     * Imports patients in batches, each in its own transaction. Rows are validated with the
+     * entity's constraints; emails and phones are de-duplicated within the upload in memory
+     * and against the table with one IN query per batch. A batch that still hits the email
+     * constraint, because a patient was created after its check, is retried row by row so
+     * only the conflicting rows are rejected.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportSummaryDTO importPatients(ImportRecordReader reader, Consumer<ImportRowErrorDTO> errors) {
+        ImportReport report = new ImportReport(errors);
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenPhones = new HashSet<>();
+        List<ImportReport.Row<Patient>> batch = new ArrayList<>(importBatchSize);
+        ImportRecordReader.Record record;
+        while ((record = reader.next()) != null) {
+            report.read();
+            if (record.error() != null) {
+                report.reject(record.line(), "record", record.error());
+                continue;
+            }
+            Patient patient = new Patient(record.fields().get("name"), record.fields().get("email"),
+                    record.fields().get("phone"));
+            Map<String, String> violations = ImportReport.violations(validator, patient);
+            if (violations.isEmpty()) {
+                if (seenEmails.contains(patient.getEmail())) {
+                    violations.put("email", "Duplicate email in this import");
+                }
+                if (seenPhones.contains(patient.getPhone())) {
+                    violations.put("phone", "Duplicate phone in this import");
+                }
+            }
+            if (!violations.isEmpty()) {
+                report.reject(record.line(), violations);
+                continue;
+            }
+            seenEmails.add(patient.getEmail());
+            seenPhones.add(patient.getPhone());
+            batch.add(new ImportReport.Row<>(record.line(), patient));
+            if (batch.size() >= importBatchSize) {
+                writePatientBatch(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writePatientBatch(batch, report);
+        }
+        return report.summary();
+    }
+
+    private void writePatientBatch(List<ImportReport.Row<Patient>> batch, ImportReport report) {
+        // Held back until commit: a batch that rolls back is checked again row by row
+        List<Runnable> rejections = new ArrayList<>();
+        Integer imported;
+        try {
+            imported = transactionTemplate.execute(status -> checkAndInsertPatients(batch, rejections, report));
+        } catch (DataIntegrityViolationException ex) {
+            if (batch.size() == 1) {
+                Patient patient = batch.get(0).entity();
+                report.reject(batch.get(0).line(), "email", "Patient with email '" + patient.getEmail() + "' already exists");
+                return;
+            }
+            log.info("Import batch of {} patients conflicted with a concurrent write; retrying row by row", batch.size());
+            batch.forEach(row -> writePatientBatch(List.of(row), report));
+            return;
+        }
+        rejections.forEach(Runnable::run);
+        report.imported(imported);
+    }
+
+    private int checkAndInsertPatients(List<ImportReport.Row<Patient>> batch, List<Runnable> rejections,
+                                       ImportReport report) {
+        Set<String> existingEmails = patientRepository.findExistingEmails(
+                batch.stream().map(row -> row.entity().getEmail()).collect(Collectors.toList()));
+        Set<String> existingPhones = patientRepository.findExistingPhones(
+                batch.stream().map(row -> row.entity().getPhone()).collect(Collectors.toList()));
+        List<Patient> accepted = new ArrayList<>(batch.size());
+        for (ImportReport.Row<Patient> row : batch) {
+            Patient patient = row.entity();
+            if (existingEmails.contains(patient.getEmail())) {
+                rejections.add(() -> report.reject(row.line(), "email", "Patient with email '" + patient.getEmail() + "' already exists"));
+            } else if (existingPhones.contains(patient.getPhone())) {
+                rejections.add(() -> report.reject(row.line(), "phone", "Patient with phone '" + patient.getPhone() + "' already exists"));
+            } else {
+                accepted.add(patient);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+        bulkInsertRepository.insertPatients(accepted);
+        accepted.forEach(this::registerContacts);
+        invalidationBus.patientsImported();
+        return accepted.size();
+    }
+
+    @EventListener
+    public void onRemotePatientChange(RemotePatientChangeEvent event) {
+        if (event.getPatientId() == null) {
+            rebuildContactFilter();
+            return;
+        }
+        patientRepository.findById(event.getPatientId())
+                .ifPresent(patient -> contactFilter.add(patient.getEmail(), patient.getPhone()));
+    }
+
+    // Read-write so the load runs on the primary: a lagging replica could miss contacts
+    // that were committed before the rebuild started
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadContactFilter() {
+        rebuildContactFilter();
+    }
+
+    @Scheduled(fixedDelayString = "${patient-filter.rebuild-check-ms:60000}")
+    public void rebuildContactFilterIfStale() {
+        if (contactFilter.needsRebuild()) {
+            rebuildContactFilter();
+        }
+    }
+
+    private void rebuildContactFilter() {
+        long patients = patientRepository.count();
+        PatientContactFilter.Filters filters = contactFilter.startRebuild(Math.max(filterMinCapacity, patients * 2));
+        patientRepository.findAllEmails().forEach(email -> filters.put(email, null));
+        patientRepository.findAllPhones().forEach(phone -> filters.put(null, phone));
+        contactFilter.finishRebuild(filters);
+        log.info("Loaded patient contact filter with {} patients", patients);
+    }
+
+    /**
+     * Adds the patient's contacts now, so concurrent checks fall through to the database,
+     * and again after commit, so a rebuild that read the table before this commit still
+     * ends up with them.
+     */
+    private void registerContacts(Patient patient) {
+        String email = patient.getEmail();
+        String phone = patient.getPhone();
+        contactFilter.add(email, phone);
+        TransactionCallbacks.afterCommit(() -> contactFilter.add(email, phone));
     }
 }
\ No newline at end of file
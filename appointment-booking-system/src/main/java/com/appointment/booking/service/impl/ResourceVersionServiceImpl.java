@@ -0,0 +1,107 @@
+package com.appointment.booking.service.impl;
+
+import com.appointment.booking.event.AvailabilityChangedEvent;
+import com.appointment.booking.service.ResourceVersionService;
+import com.appointment.booking.util.TransactionCallbacks;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cheap in-memory version counters per aggregate, used to build ETags without touching
+ * the database. Counters are bumped only after the writing transaction commits, so a tag
+ * is never handed out for data a reader could not yet see. The per-process epoch keeps
+ * tags from a previous run or another node from ever matching. Tags are weak: the same
+ * version is served as JSON, CBOR or Smile, which are equivalent but not byte-identical.
+ */
+@Service
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final AtomicLong directoryVersion = new AtomicLong();
+    private final Map<Long, AtomicLong> doctorVersions = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> scheduleVersions = new ConcurrentHashMap<>();
+    private final Map<DoctorDate, AtomicLong> doctorDateVersions = new ConcurrentHashMap<>();
+    private final Map<LocalDate, AtomicLong> dateVersions = new ConcurrentHashMap<>();
+
+    @Override
+    public String directoryTag() {
+        return tag("dir", directoryVersion.get());
+    }
+
+    @Override
+    public String doctorTag(Long doctorId) {
+        return tag("doc", get(doctorVersions, doctorId));
+    }
+
+    @Override
+    public String doctorScheduleTag(Long doctorId) {
+        return tag("sched", get(doctorVersions, doctorId), get(scheduleVersions, doctorId));
+    }
+
+    @Override
+    public String doctorDateTag(Long doctorId, LocalDate date) {
+        return tag("day", get(doctorVersions, doctorId), get(doctorDateVersions, new DoctorDate(doctorId, date)));
+    }
+
+    @Override
+    public String dateTag(LocalDate date) {
+        return tag("date", directoryVersion.get(), get(dateVersions, date));
+    }
+
+    @Override
+    public void doctorDirectoryChanged() {
+        TransactionCallbacks.afterCommit(directoryVersion::incrementAndGet);
+    }
+
+    @Override
+    public void doctorChanged(Long doctorId) {
+        TransactionCallbacks.afterCommit(() -> {
+            directoryVersion.incrementAndGet();
+            bump(doctorVersions, doctorId);
+        });
+    }
+
+    @Override
+    public void slotsChanged(Long doctorId, LocalDate date) {
+        TransactionCallbacks.afterCommit(() -> bumpSlots(doctorId, date));
+    }
+
+    // Already after commit, and synchronizations registered now would never run
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        bumpSlots(event.getDoctorId(), event.getDate());
+    }
+
+    private void bumpSlots(Long doctorId, LocalDate date) {
+        bump(scheduleVersions, doctorId);
+        bump(doctorDateVersions, new DoctorDate(doctorId, date));
+        bump(dateVersions, date);
+    }
+
+    private static <K> long get(Map<K, AtomicLong> versions, K key) {
+        AtomicLong version = versions.get(key);
+        return version != null ? version.get() : 0L;
+    }
+
+    private static <K> void bump(Map<K, AtomicLong> versions, K key) {
+        versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private String tag(String scope, long... versions) {
+        StringBuilder sb = new StringBuilder(48).append("W/\"").append(scope).append('-').append(epoch);
+        for (long version : versions) {
+            sb.append('-').append(version);
+        }
+        return sb.append('"').toString();
+    }
+
+    private record DoctorDate(Long doctorId, LocalDate date) {
+    }
+}
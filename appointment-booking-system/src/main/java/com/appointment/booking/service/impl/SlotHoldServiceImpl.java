@@ -0,0 +1,195 @@
+package com.appointment.booking.service.impl;
+
+import com.appointment.booking.dto.SlotHoldDTO;
+import com.appointment.booking.dto.SlotHoldRequest;
+import com.appointment.booking.entity.Availability;
+import com.appointment.booking.event.AvailabilityChangedEvent;
+import com.appointment.booking.event.AvailabilityChangedEvent.ChangeType;
+import com.appointment.booking.event.SlotHoldReleasedEvent;
+import com.appointment.booking.exception.BadRequestException;
+import com.appointment.booking.exception.ConflictException;
+import com.appointment.booking.exception.ResourceNotFoundException;
+import com.appointment.booking.repository.AvailabilityRepository;
+import com.appointment.booking.repository.PatientRepository;
+import com.appointment.booking.service.ResourceVersionService;
+import com.appointment.booking.service.SlotHoldService;
+import com.appointment.booking.util.HashedTimerWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps temporary slot holds purely in memory. Expiry is driven by a hashed timer wheel,
+ * so taking, confirming or letting a hold lapse never writes to the database. A hold that
+ * lapses or is released, rather than booked, publishes a RELEASED change so waitlisted
+ * patients and slot subscribers learn the slot can be taken again.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SlotHoldServiceImpl implements SlotHoldService {
+
+    private final AvailabilityRepository availabilityRepository;
+    private final PatientRepository patientRepository;
+    private final ResourceVersionService resourceVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultHoldMinutes;
+    private final HashedTimerWheel timerWheel;
+
+    private final Map<Long, Hold> holdsBySlot = new ConcurrentHashMap<>();
+    private final Map<String, Hold> holdsById = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SlotHoldServiceImpl(AvailabilityRepository availabilityRepository,
+                               PatientRepository patientRepository,
+                               ResourceVersionService resourceVersionService,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry,
+                               @Value("${slot-hold.default-minutes:5}") int defaultHoldMinutes,
+                               @Value("${slot-hold.wheel.tick-ms:1000}") long tickMillis,
+                               @Value("${slot-hold.wheel.size:512}") int wheelSize) {
+        this.availabilityRepository = availabilityRepository;
+        this.patientRepository = patientRepository;
+        this.resourceVersionService = resourceVersionService;
+        this.eventPublisher = eventPublisher;
+        this.defaultHoldMinutes = defaultHoldMinutes;
+        this.timerWheel = new HashedTimerWheel("slot-hold-expiry", tickMillis, TimeUnit.MILLISECONDS, wheelSize);
+        Gauge.builder("slot.holds.active", holdsById, Map::size)
+                .description("Slot holds currently in effect")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SlotHoldDTO holdSlot(SlotHoldRequest slotHoldRequest) {
+        Long patientId = slotHoldRequest.getPatientId();
+        Long availabilityId = slotHoldRequest.getAvailabilityId();
+
+        if (!patientRepository.existsCached(patientId)) {
+            throw new ResourceNotFoundException("Patient", "id", patientId);
+        }
+        Availability availability = availabilityRepository.findByIdAndIsAvailable(availabilityId, true)
+                .orElseThrow(() -> new ResourceNotFoundException("Available slot", "id", availabilityId));
+        if (availability.getDate().isBefore(LocalDate.now())) {
+            throw new BadRequestException("Cannot hold a slot for past dates");
+        }
+
+        int minutes = slotHoldRequest.getHoldMinutes() != null ? slotHoldRequest.getHoldMinutes() : defaultHoldMinutes;
+        Hold hold = holdsBySlot.compute(availabilityId, (id, existing) -> {
+            if (existing != null && !existing.isExpired()) {
+                if (existing.dto.getPatientId().equals(patientId)) {
+                    return existing;
+                }
+                throw new ConflictException("This time slot is currently held by another patient");
+            }
+            return newHold(availability, patientId, minutes);
+        });
+        resourceVersionService.slotsChanged(hold.dto.getDoctorId(), hold.dto.getDate());
+        return hold.dto;
+    }
+
+    @Override
+    public SlotHoldDTO getHold(String holdId) {
+        Hold hold = holdsById.get(holdId);
+        if (hold == null || hold.isExpired()) {
+            throw new ResourceNotFoundException("Slot hold", "id", holdId);
+        }
+        return hold.dto;
+    }
+
+    @Override
+    public void releaseHold(String holdId) {
+        Hold hold = holdsById.get(holdId);
+        if (hold == null) {
+            throw new ResourceNotFoundException("Slot hold", "id", holdId);
+        }
+        expire(hold, true);
+    }
+
+    @Override
+    public void releaseSlot(Long availabilityId) {
+        Hold hold = holdsBySlot.get(availabilityId);
+        if (hold != null) {
+            expire(hold, false);
+        }
+    }
+
+    @Override
+    public boolean isHeld(Long availabilityId) {
+        Hold hold = holdsBySlot.get(availabilityId);
+        return hold != null && !hold.isExpired();
+    }
+
+    @Override
+    public boolean isHeldByOtherPatient(Long availabilityId, Long patientId) {
+        Hold hold = holdsBySlot.get(availabilityId);
+        return hold != null && !hold.isExpired() && !hold.dto.getPatientId().equals(patientId);
+    }
+
+    private Hold newHold(Availability availability, Long patientId, int minutes) {
+        SlotHoldDTO dto = new SlotHoldDTO();
+        dto.setHoldId(UUID.randomUUID().toString());
+        dto.setPatientId(patientId);
+        dto.setDoctorId(availability.getDoctor().getId());
+        dto.setAvailabilityId(availability.getId());
+        dto.setDate(availability.getDate());
+        dto.setStartTime(availability.getStartTime());
+        dto.setEndTime(availability.getEndTime());
+        dto.setExpiresAt(LocalDateTime.now().plusMinutes(minutes));
+
+        Hold hold = new Hold(dto, System.nanoTime() + TimeUnit.MINUTES.toNanos(minutes));
+        holdsById.put(dto.getHoldId(), hold);
+        hold.timeout = timerWheel.schedule(() -> expire(hold, true), minutes, TimeUnit.MINUTES);
+        return hold;
+    }
+
+    // released is false when the hold ends because its slot was booked or deleted
+    private void expire(Hold hold, boolean released) {
+        if (hold.timeout != null) {
+            hold.timeout.cancel();
+        }
+        holdsById.remove(hold.dto.getHoldId(), hold);
+        if (!holdsBySlot.remove(hold.dto.getAvailabilityId(), hold)) {
+            return;
+        }
+        if (!released) {
+            resourceVersionService.slotsChanged(hold.dto.getDoctorId(), hold.dto.getDate());
+            return;
+        }
+        SlotHoldDTO dto = hold.dto;
+        eventPublisher.publishEvent(new SlotHoldReleasedEvent(dto.getHoldId(), dto.getAvailabilityId()));
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(ChangeType.RELEASED, dto.getAvailabilityId(),
+                dto.getDoctorId(), dto.getDate(), dto.getStartTime(), dto.getEndTime(), true));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timerWheel.close();
+    }
+
+    private static final class Hold {
+
+        private final SlotHoldDTO dto;
+        private final long expiresAtNanos;
+        private volatile HashedTimerWheel.Timeout timeout;
+
+        private Hold(SlotHoldDTO dto, long expiresAtNanos) {
+            this.dto = dto;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        // The wheel fires on tick boundaries, so check the exact deadline on every read
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+}
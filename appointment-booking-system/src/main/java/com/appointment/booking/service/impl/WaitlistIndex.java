@@ -0,0 +1,100 @@
+package com.appointment.booking.service.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory priority index of waiting patients. Each entry is expanded into one bucket per
+ * (doctor or specialization, date) it covers, and every bucket is a skip list ordered by
+ * entry id, so the longest-waiting match for a freed slot is found in O(log n).
+ */
+class WaitlistIndex {
+
+    private final Map<BucketKey, NavigableSet<Long>> buckets = new ConcurrentHashMap<>();
+    private final Map<Long, List<BucketKey>> keysByEntry = new ConcurrentHashMap<>();
+
+    void add(Long entryId, Long doctorId, String specialization, LocalDate fromDate, LocalDate toDate) {
+        List<BucketKey> keys = new ArrayList<>();
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            keys.add(doctorId != null ? BucketKey.doctor(doctorId, date) : BucketKey.specialization(specialization, date));
+        }
+        if (keysByEntry.putIfAbsent(entryId, keys) != null) {
+            return;
+        }
+        for (BucketKey key : keys) {
+            buckets.compute(key, (k, set) -> {
+                NavigableSet<Long> target = set != null ? set : new ConcurrentSkipListSet<>();
+                target.add(entryId);
+                return target;
+            });
+        }
+    }
+
+    /**
+     * Removes the entry from every bucket. Returns true only for the caller that actually
+     * removed it, which lets concurrent slot releases claim a waiter exactly once.
+     */
+    boolean remove(Long entryId) {
+        List<BucketKey> keys = keysByEntry.remove(entryId);
+        if (keys == null) {
+            return false;
+        }
+        for (BucketKey key : keys) {
+            buckets.computeIfPresent(key, (k, set) -> {
+                set.remove(entryId);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Returns up to limit waiting entry ids for the slot, oldest first, merging the doctor
+     * bucket with the specialization bucket.
+     */
+    List<Long> candidates(Long doctorId, String specialization, LocalDate date, int limit) {
+        Iterator<Long> byDoctor = iterator(BucketKey.doctor(doctorId, date));
+        Iterator<Long> bySpecialization = iterator(BucketKey.specialization(specialization, date));
+        List<Long> result = new ArrayList<>(limit);
+        Long nextDoctor = byDoctor.hasNext() ? byDoctor.next() : null;
+        Long nextSpecialization = bySpecialization.hasNext() ? bySpecialization.next() : null;
+        while (result.size() < limit && (nextDoctor != null || nextSpecialization != null)) {
+            if (nextSpecialization == null || (nextDoctor != null && nextDoctor < nextSpecialization)) {
+                result.add(nextDoctor);
+                nextDoctor = byDoctor.hasNext() ? byDoctor.next() : null;
+            } else {
+                result.add(nextSpecialization);
+                nextSpecialization = bySpecialization.hasNext() ? bySpecialization.next() : null;
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        return keysByEntry.size();
+    }
+
+    private Iterator<Long> iterator(BucketKey key) {
+        NavigableSet<Long> set = buckets.get(key);
+        return set != null ? set.iterator() : Collections.emptyIterator();
+    }
+
+    private record BucketKey(char scope, Object value, LocalDate date) {
+
+        static BucketKey doctor(Long doctorId, LocalDate date) {
+            return new BucketKey('d', doctorId, date);
+        }
+
+        static BucketKey specialization(String specialization, LocalDate date) {
+            return new BucketKey('s', specialization == null ? "" : specialization.toLowerCase(Locale.ROOT), date);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.appointment.booking.service.impl;
+
+import com.appointment.booking.config.AsyncConfig;
+import com.appointment.booking.dto.AppointmentDTO;
+import com.appointment.booking.dto.AppointmentRequest;
+import com.appointment.booking.dto.SlotHoldDTO;
+import com.appointment.booking.dto.SlotHoldRequest;
+import com.appointment.booking.dto.WaitlistEntryDTO;
+import com.appointment.booking.dto.WaitlistRequest;
+import com.appointment.booking.entity.Availability;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Patient;
+import com.appointment.booking.entity.WaitlistEntry;
+import com.appointment.booking.entity.WaitlistEntry.WaitlistStatus;
+import com.appointment.booking.event.AvailabilityChangedEvent;
+import com.appointment.booking.event.AvailabilityChangedEvent.ChangeType;
+import com.appointment.booking.event.SlotHoldReleasedEvent;
+import com.appointment.booking.exception.BadRequestException;
+import com.appointment.booking.exception.ConflictException;
+import com.appointment.booking.exception.ResourceNotFoundException;
+import com.appointment.booking.mapper.WaitlistMapper;
+import com.appointment.booking.repository.AvailabilityRepository;
+import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.PatientRepository;
+import com.appointment.booking.repository.WaitlistEntryRepository;
+import com.appointment.booking.service.AppointmentService;
+import com.appointment.booking.service.SlotHoldService;
+import com.appointment.booking.service.WaitlistService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistServiceImpl.class);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final WaitlistMapper waitlistMapper;
+    private final AppointmentService appointmentService;
+    private final SlotHoldService slotHoldService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRangeDays;
+    private final int maxMatchAttempts;
+    private final int offerMinutes;
+
+    private final WaitlistIndex index = new WaitlistIndex();
+    private final Counter autoBookedCounter;
+    private final Counter offeredCounter;
+
+    @Autowired
+    public WaitlistServiceImpl(WaitlistEntryRepository waitlistEntryRepository,
+                               PatientRepository patientRepository,
+                               DoctorRepository doctorRepository,
+                               AvailabilityRepository availabilityRepository,
+                               WaitlistMapper waitlistMapper,
+                               AppointmentService appointmentService,
+                               SlotHoldService slotHoldService,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${waitlist.max-range-days:31}") int maxRangeDays,
+                               @Value("${waitlist.max-match-attempts:5}") int maxMatchAttempts,
+                               @Value("${waitlist.offer-minutes:15}") int offerMinutes) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.patientRepository = patientRepository;
+        this.doctorRepository = doctorRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.waitlistMapper = waitlistMapper;
+        this.appointmentService = appointmentService;
+        this.slotHoldService = slotHoldService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxRangeDays = maxRangeDays;
+        this.maxMatchAttempts = maxMatchAttempts;
+        this.offerMinutes = offerMinutes;
+
+        Gauge.builder("waitlist.waiting", index, WaitlistIndex::size)
+                .description("Waitlist entries currently indexed for matching")
+                .register(meterRegistry);
+        this.autoBookedCounter = meterRegistry.counter("waitlist.matched", "outcome", "booked");
+        this.offeredCounter = meterRegistry.counter("waitlist.matched", "outcome", "offered");
+    }
+
+    @Override
+    public WaitlistEntryDTO joinWaitlist(WaitlistRequest waitlistRequest) {
+        Patient patient = patientRepository.findById(waitlistRequest.getPatientId())
+                .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", waitlistRequest.getPatientId()));
+
+        String specialization = waitlistRequest.getSpecialization();
+        if (waitlistRequest.getDoctorId() != null) {
+            Doctor doctor = doctorRepository.findById(waitlistRequest.getDoctorId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Doctor", "id", waitlistRequest.getDoctorId()));
+            specialization = doctor.getSpecialization();
+        } else if (specialization == null || specialization.isBlank()) {
+            throw new BadRequestException("Either doctorId or specialization is required");
+        }
+
+        if (waitlistRequest.getFromDate().isBefore(LocalDate.now())) {
+            throw new BadRequestException("Cannot join the waitlist for past dates");
+        }
+        if (waitlistRequest.getToDate().isBefore(waitlistRequest.getFromDate())) {
+            throw new BadRequestException("From date must not be after to date");
+        }
+        if (ChronoUnit.DAYS.between(waitlistRequest.getFromDate(), waitlistRequest.getToDate()) >= maxRangeDays) {
+            throw new BadRequestException("Waitlist date range cannot exceed " + maxRangeDays + " days");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setPatient(patient);
+        entry.setDoctorId(waitlistRequest.getDoctorId());
+        entry.setSpecialization(specialization);
+        entry.setFromDate(waitlistRequest.getFromDate());
+        entry.setToDate(waitlistRequest.getToDate());
+        entry.setAutoBook(waitlistRequest.isAutoBook());
+        WaitlistEntry savedEntry = waitlistEntryRepository.save(entry);
+
+        // Only make the entry matchable once it is committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indexEntry(savedEntry);
+            }
+        });
+        return waitlistMapper.toDTO(savedEntry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WaitlistEntryDTO getWaitlistEntryById(Long id) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry", "id", id));
+        return waitlistMapper.toDTO(entry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDTO> getWaitlistEntriesByPatient(Long patientId) {
+        if (!patientRepository.existsCached(patientId)) {
+            throw new ResourceNotFoundException("Patient", "id", patientId);
+        }
+        return waitlistEntryRepository.findByPatientId(patientId).stream()
+                .map(waitlistMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public WaitlistEntryDTO cancelWaitlistEntry(Long id) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry", "id", id));
+
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            throw new BadRequestException("Only waiting entries can be canceled");
+        }
+
+        index.remove(id);
+        entry.setStatus(WaitlistStatus.CANCELED);
+        return waitlistMapper.toDTO(waitlistEntryRepository.save(entry));
+    }
+
+    @Override
+    public void removeByPatient(Long patientId) {
+        waitlistEntryRepository.findByPatientId(patientId).forEach(entry -> index.remove(entry.getId()));
+        waitlistEntryRepository.deleteByPatientId(patientId);
+    }
+
+    // Holds lapse on the timer thread, outside any transaction, hence fallbackExecution.
+    // No transaction of its own: each candidate is booked in a separate one.
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        if (event.getChangeType() == ChangeType.RELEASED) {
+            fillReleasedSlot(event.getAvailabilityId());
+        }
+    }
+
+    /**
+     * Closes an offer whose hold lapsed or was declined. The entry is not put back in line,
+     * or the same patient would be offered the slot again; the RELEASED change that comes
+     * with the hold moves the slot on to the next waiter.
+     */
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onSlotHoldReleased(SlotHoldReleasedEvent event) {
+        waitlistEntryRepository.findByOfferedHoldIdAndStatus(event.getHoldId(), WaitlistStatus.OFFERED)
+                .ifPresent(entry -> entry.setStatus(WaitlistStatus.EXPIRED));
+    }
+
+    /**
+     * Hands a released slot to the longest-waiting matching patient. Each candidate is tried
+     * in its own transaction so one failed booking does not poison the next attempt; a
+     * candidate whose booking or commit fails goes back in the index.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void fillReleasedSlot(Long availabilityId) {
+        Availability availability = availabilityRepository.findById(availabilityId).orElse(null);
+        if (availability == null || !Boolean.TRUE.equals(availability.getIsAvailable())
+                || slotHoldService.isHeld(availabilityId)) {
+            return;
+        }
+        Long doctorId = availability.getDoctor().getId();
+        String specialization = doctorRepository.findById(doctorId).map(Doctor::getSpecialization).orElse(null);
+
+        for (Long entryId : index.candidates(doctorId, specialization, availability.getDate(), maxMatchAttempts)) {
+            if (!index.remove(entryId)) {
+                continue;
+            }
+            WaitlistEntry entry = waitlistEntryRepository.findById(entryId).orElse(null);
+            if (entry == null || entry.getStatus() != WaitlistStatus.WAITING) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> assignSlot(entry, availability));
+                return;
+            } catch (ConflictException ex) {
+                // Someone else took the slot first; keep the waiter for the next release
+                indexEntry(entry);
+                return;
+            } catch (RuntimeException ex) {
+                log.debug("Could not assign slot {} to waitlist entry {}: {}", availabilityId, entryId, ex.getMessage());
+                indexEntry(entry);
+            }
+        }
+    }
+
+    private void assignSlot(WaitlistEntry entry, Availability availability) {
+        Long patientId = entry.getPatient().getId();
+
+        if (entry.isAutoBook()) {
+            AppointmentDTO appointment = appointmentService.bookAppointment(new AppointmentRequest(patientId,
+                    availability.getDoctor().getId(), availability.getId(), availability.getDate()));
+            entry.setStatus(WaitlistStatus.BOOKED);
+            entry.setAppointmentId(appointment.getId());
+            autoBookedCounter.increment();
+        } else {
+            SlotHoldDTO hold = slotHoldService.holdSlot(new SlotHoldRequest(patientId, availability.getId(), offerMinutes));
+            entry.setStatus(WaitlistStatus.OFFERED);
+            entry.setOfferedHoldId(hold.getHoldId());
+            offeredCounter.increment();
+        }
+        waitlistEntryRepository.save(entry);
+    }
+
+    private void indexEntry(WaitlistEntry entry) {
+        LocalDate today = LocalDate.now();
+        if (entry.getToDate().isBefore(today)) {
+            return;
+        }
+        LocalDate fromDate = entry.getFromDate().isBefore(today) ? today : entry.getFromDate();
+        index.add(entry.getId(), entry.getDoctorId(), entry.getSpecialization(), fromDate, entry.getToDate());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        waitlistEntryRepository.findByStatus(WaitlistStatus.WAITING).forEach(this::indexEntry);
+    }
+
+    @Scheduled(cron = "${waitlist.expiry-cron:0 5 0 * * *}")
+    public void expireEntries() {
+        for (WaitlistEntry entry : waitlistEntryRepository.findByStatusAndToDateBefore(WaitlistStatus.WAITING, LocalDate.now())) {
+            index.remove(entry.getId());
+            entry.setStatus(WaitlistStatus.CANCELED);
+        }
+    }
+}
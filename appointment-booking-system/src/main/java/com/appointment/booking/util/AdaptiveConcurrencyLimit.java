@@ -0,0 +1,74 @@
+package com.appointment.booking.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that adapts with AIMD: every call completing within the latency
+ * threshold while the limit is in use grows it by one per limit's worth of calls, and a
+ * call over the threshold shrinks it multiplicatively, at most once per threshold
+ * interval so one burst of slow calls is counted as a single congestion signal.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger successesSinceIncrease = new AtomicInteger();
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    long latencyThreshold, TimeUnit unit, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid adaptive limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = unit.toNanos(latencyThreshold);
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicInteger(Math.max(minLimit, Math.min(initialLimit, maxLimit)));
+    }
+
+    /**
+     * Claims a slot, or returns false when the limit is reached. A true result must be
+     * paired with exactly one {@link #release(long)}.
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit.get()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long latencyNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        int current = limit.get();
+        if (latencyNanos > latencyThresholdNanos) {
+            long now = System.nanoTime();
+            long last = lastDecrease.get();
+            if (now - last > latencyThresholdNanos && lastDecrease.compareAndSet(last, now)) {
+                limit.compareAndSet(current, Math.max(minLimit, (int) (current * backoffRatio)));
+                successesSinceIncrease.set(0);
+            }
+            return;
+        }
+        // Only grow when the limit was actually the constraint, otherwise idle periods inflate it
+        if (concurrent * 2 >= current && successesSinceIncrease.incrementAndGet() >= current) {
+            successesSinceIncrease.set(0);
+            limit.compareAndSet(current, Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,79 @@
+package com.appointment.booking.util;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the number of calls running in one lane. Callers beyond the limit wait for a permit
+ * up to maxWait, but only maxWaiting of them at a time; everyone else is rejected at once
+ * so a burst in one lane cannot pile up threads that another lane needs.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrent, int maxWaiting, long maxWait, TimeUnit unit) {
+        if (maxConcurrent < 1 || maxWaiting < 0) {
+            throw new IllegalArgumentException("Invalid limits for bulkhead " + name);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.maxWaitNanos = unit.toNanos(maxWait);
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Takes a permit, waiting if allowed. Returns false if the caller must be rejected;
+     * a true result must be paired with exactly one {@link #release()}.
+     */
+    public boolean tryEnter() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.incrementAndGet();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int activeCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int waitingCount() {
+        return waiting.get();
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,40 @@
+package com.appointment.booking.util;
+
+import com.appointment.booking.exception.BadRequestException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parses a comma-separated ?fields= parameter against a whitelist of selectable fields,
+ * keeping the order in which the client listed them.
+ */
+public final class FieldSelection {
+
+    private FieldSelection() {}
+
+    /**
+     * @param allowed selectable field name to the attribute path it reads
+     * @return requested field name to attribute path, in request order
+     */
+    public static Map<String, String> parse(String fields, Map<String, String> allowed) {
+        Map<String, String> selection = new LinkedHashMap<>();
+        if (fields != null) {
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                String attributePath = allowed.get(name);
+                if (attributePath == null) {
+                    throw new BadRequestException("Unknown field '" + name + "'. Allowed fields: "
+                            + String.join(", ", allowed.keySet()));
+                }
+                selection.put(name, attributePath);
+            }
+        }
+        if (selection.isEmpty()) {
+            throw new BadRequestException("At least one field must be requested");
+        }
+        return selection;
+    }
+}
@@ -0,0 +1,110 @@
+package com.appointment.booking.util;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timing wheel in the style of Varghese and Lauck: timeouts are hashed into a
+ * ring of buckets by deadline and a single daemon thread advances one bucket per tick.
+ * Scheduling and cancelling are O(1) and never allocate a thread or touch a lock.
+ */
+public class HashedTimerWheel implements AutoCloseable {
+
+    private final long tickNanos;
+    private final Queue<Timeout>[] wheel;
+    private final int mask;
+    private final long startNanos;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private volatile long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.mask = size - 1;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startNanos + unit.toNanos(delay);
+        // Never land in a bucket the worker has already passed, or the task waits a full turn
+        long ticks = Math.max(tick + 1, (deadline + tickNanos - 1) / tickNanos);
+        Timeout timeout = new Timeout(task, ticks);
+        wheel[(int) (ticks & mask)].add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        while (running) {
+            long target = (tick + 1) * tickNanos;
+            long sleepNanos = target - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+            tick++;
+            expire(wheel[(int) (tick & mask)]);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket) {
+        Iterator<Timeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+            } else if (timeout.deadlineTick <= tick) {
+                it.remove();
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException ignored) {
+                    // A failing task must not stop the wheel
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    public static final class Timeout {
+
+        private final Runnable task;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
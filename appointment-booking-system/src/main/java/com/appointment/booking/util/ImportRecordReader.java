@@ -0,0 +1,164 @@
+package com.appointment.booking.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads an upload one record at a time, either CSV with a header row or newline-delimited
+ * JSON objects, so only the current line is held in memory. Field names are lower-cased.
+ * A line that cannot be parsed comes back as a record carrying an error instead of ending
+ * the read. Quoted CSV fields may not span lines.
+ */
+public class ImportRecordReader {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+
+    public ImportRecordReader(InputStream input, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the next non-blank record, or null at the end of the input.
+     */
+    public Record next() {
+        String line;
+        while ((line = readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.NDJSON) {
+                return parseJson(line);
+            }
+            if (header == null) {
+                header = parseHeader(line);
+                continue;
+            }
+            return parseCsv(line);
+        }
+        return null;
+    }
+
+    private String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Record parseJson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException ex) {
+            return Record.malformed(lineNumber, "Invalid JSON: " + ex.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return Record.malformed(lineNumber, "Expected a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> entries = node.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            if (!entry.getValue().isNull()) {
+                fields.put(entry.getKey().toLowerCase(Locale.ROOT), entry.getValue().asText());
+            }
+        }
+        return new Record(lineNumber, fields, null);
+    }
+
+    private List<String> parseHeader(String line) {
+        List<String> names = splitCsv(line);
+        if (names == null) {
+            throw new IllegalArgumentException("Malformed CSV header on line " + lineNumber);
+        }
+        names.replaceAll(name -> name.trim().toLowerCase(Locale.ROOT));
+        return names;
+    }
+
+    private Record parseCsv(String line) {
+        List<String> values = splitCsv(line);
+        if (values == null) {
+            return Record.malformed(lineNumber, "Unterminated quoted field");
+        }
+        if (values.size() != header.size()) {
+            return Record.malformed(lineNumber, "Expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return new Record(lineNumber, fields, null);
+    }
+
+    /**
+     * Splits one CSV line per RFC 4180, returning null if a quoted field is left open.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(field.toString());
+        return values;
+    }
+
+    /**
+     * One input record; error is set, and fields empty, when the line could not be parsed.
+     */
+    public record Record(long line, Map<String, String> fields, String error) {
+
+        static Record malformed(long line, String error) {
+            return new Record(line, Map.of(), error);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.appointment.booking.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls with the same key into one execution: the first caller runs
+ * the loader and every caller that arrives while it is in flight receives the same result
+ * or exception. Nothing is cached; the key is forgotten as soon as the call completes.
+ * Callers that need writes to start a fresh flight put a data version into the key.
+ */
+public class SingleFlight {
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> loader) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+
+        try {
+            T value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            created.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            // Rethrow the leader's own exception so followers see the same error type
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
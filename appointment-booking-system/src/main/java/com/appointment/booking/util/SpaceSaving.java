@@ -0,0 +1,85 @@
+package com.appointment.booking.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitter sketch (Metwally, Agrawal and El Abbadi). Tracks at most
+ * capacity keys; an unseen key replaces the current minimum and inherits its count as
+ * over-estimation error, so any key whose true frequency exceeds total/capacity is
+ * guaranteed to be tracked. Counts can be halved periodically so the sketch follows
+ * recent traffic rather than all-time totals.
+ */
+public class SpaceSaving<K> {
+
+    private final int capacity;
+    private final Map<K, Estimate<K>> counters;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void offer(K key) {
+        Estimate<K> current = counters.get(key);
+        if (current != null) {
+            counters.put(key, new Estimate<>(key, current.count() + 1, current.error()));
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Estimate<>(key, 1, 0));
+            return;
+        }
+        // Capacity is small, so a linear scan for the minimum beats maintaining a stream summary
+        Estimate<K> min = null;
+        for (Estimate<K> estimate : counters.values()) {
+            if (min == null || estimate.count() < min.count()) {
+                min = estimate;
+            }
+        }
+        counters.remove(min.key());
+        counters.put(key, new Estimate<>(key, min.count() + 1, min.count()));
+    }
+
+    /**
+     * Returns the n keys with the highest estimated counts, highest first.
+     */
+    public synchronized List<Estimate<K>> top(int n) {
+        List<Estimate<K>> estimates = new ArrayList<>(counters.values());
+        estimates.sort(Comparator.comparingLong(Estimate<K>::count).reversed());
+        return estimates.size() > n ? new ArrayList<>(estimates.subList(0, n)) : estimates;
+    }
+
+    /**
+     * Halves every count and error, dropping keys that reach zero.
+     */
+    public synchronized void decay() {
+        Iterator<Map.Entry<K, Estimate<K>>> iterator = counters.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Estimate<K>> entry = iterator.next();
+            Estimate<K> estimate = entry.getValue();
+            if (estimate.count() <= 1) {
+                iterator.remove();
+            } else {
+                entry.setValue(new Estimate<>(estimate.key(), estimate.count() / 2, estimate.error() / 2));
+            }
+        }
+    }
+
+    /**
+     * Estimated count of a key; the true count lies in [count - error, count].
+     */
+    public record Estimate<K>(K key, long count, long error) {
+
+        public long guaranteedCount() {
+            return count - error;
+        }
+    }
+}
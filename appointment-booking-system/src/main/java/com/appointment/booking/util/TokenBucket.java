@@ -0,0 +1,51 @@
+package com.appointment.booking.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as the generic cell rate algorithm: the whole state
+ * is a single theoretical arrival time advanced with compare-and-set, so a permit costs
+ * one CAS and the bucket needs no refill thread.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.toleranceNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes one permit if available. Returns 0 on success, otherwise the nanoseconds to
+     * wait before a permit will be available.
+     */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival - now, 0) + now + emissionIntervalNanos;
+            long wait = next - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * True when the bucket has refilled completely, so dropping it loses no state.
+     */
+    public boolean isIdle() {
+        return theoreticalArrival.get() - System.nanoTime() <= 0;
+    }
+}
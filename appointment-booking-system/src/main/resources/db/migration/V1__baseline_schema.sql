@@ -0,0 +1,151 @@
+-- Baseline schema, matching the entity mappings as of this migration. Later schema
+-- changes go in new V<n>__*.sql files; never edit a migration that has been applied.
+
+create table appointment_view (
+    date date not null,
+    end_time time(6),
+    start_time time(6),
+    appointment_id bigint not null,
+    availability_id bigint not null,
+    created_at timestamp(6),
+    doctor_id bigint not null,
+    patient_id bigint not null,
+    updated_at timestamp(6),
+    patient_phone varchar(15),
+    doctor_name varchar(100),
+    doctor_specialization varchar(100),
+    patient_name varchar(100),
+    patient_email varchar(150),
+    notes varchar(500),
+    status varchar(255) not null check (status in ('BOOKED','CANCELED','COMPLETED','NO_SHOW')),
+    primary key (appointment_id)
+);
+
+create table appointments (
+    date date not null,
+    availability_id bigint not null,
+    booked_availability_id bigint,
+    created_at timestamp(6),
+    doctor_id bigint not null,
+    id bigint generated by default as identity,
+    patient_id bigint not null,
+    updated_at timestamp(6),
+    notes varchar(500),
+    status varchar(255) not null check (status in ('BOOKED','CANCELED','COMPLETED','NO_SHOW')),
+    primary key (id),
+    constraint uk_appointments_booked_slot unique (booked_availability_id, date)
+);
+
+create table availabilities (
+    date date not null,
+    end_time time(6) not null,
+    is_available boolean,
+    start_time time(6) not null,
+    created_at timestamp(6),
+    doctor_id bigint not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    primary key (id),
+    constraint uk_availabilities_slot unique (doctor_id, date, start_time, end_time)
+);
+
+create table doctors (
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    name varchar(100) not null,
+    specialization varchar(100) not null,
+    primary key (id)
+);
+
+create table outbox_events (
+    attempts integer not null,
+    aggregate_id bigint not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    partition_key bigint not null,
+    published_at timestamp(6),
+    aggregate_type varchar(50) not null,
+    event_type varchar(50) not null check (event_type in ('APPOINTMENT_BOOKED','APPOINTMENT_CANCELED','APPOINTMENT_NOTES_UPDATED','APPOINTMENT_DELETED')),
+    payload varchar(4000) not null,
+    primary key (id)
+);
+
+create table patients (
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    phone varchar(15) not null,
+    name varchar(100) not null,
+    email varchar(150) not null,
+    primary key (id),
+    constraint uk_patients_email unique (email)
+);
+
+create table waitlist_entries (
+    auto_book boolean not null,
+    from_date date not null,
+    to_date date not null,
+    appointment_id bigint,
+    created_at timestamp(6),
+    doctor_id bigint,
+    id bigint generated by default as identity,
+    patient_id bigint not null,
+    updated_at timestamp(6),
+    offered_hold_id varchar(36),
+    specialization varchar(100),
+    status varchar(255) not null check (status in ('WAITING','OFFERED','BOOKED','CANCELED')),
+    primary key (id)
+);
+
+create index idx_appointment_view_patient
+    on appointment_view (patient_id, date);
+
+create index idx_appointment_view_patient_status
+    on appointment_view (patient_id, status);
+
+create index idx_appointment_view_doctor
+    on appointment_view (doctor_id, date);
+
+create index idx_appointment_view_doctor_status
+    on appointment_view (doctor_id, status);
+
+create index idx_appointment_view_availability
+    on appointment_view (availability_id);
+
+create index idx_outbox_events_pending
+    on outbox_events (published_at, id);
+
+create index idx_patients_phone
+    on patients (phone);
+
+create index idx_waitlist_entries_patient
+    on waitlist_entries (patient_id);
+
+create index idx_waitlist_entries_status
+    on waitlist_entries (status);
+
+alter table appointments
+    add constraint fk_appointments_availability
+    foreign key (availability_id)
+    references availabilities;
+
+alter table appointments
+    add constraint fk_appointments_doctor
+    foreign key (doctor_id)
+    references doctors;
+
+alter table appointments
+    add constraint fk_appointments_patient
+    foreign key (patient_id)
+    references patients;
+
+alter table availabilities
+    add constraint fk_availabilities_doctor
+    foreign key (doctor_id)
+    references doctors;
+
+alter table waitlist_entries
+    add constraint fk_waitlist_entries_patient
+    foreign key (patient_id)
+    references patients;
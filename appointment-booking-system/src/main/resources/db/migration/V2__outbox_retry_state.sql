@@ -0,0 +1,4 @@
+-- Outbox retry backoff and dead-lettering.
+
+alter table outbox_events add column next_attempt_at timestamp(6);
+alter table outbox_events add column failed_at timestamp(6);
@@ -0,0 +1,14 @@
+-- Adds the EXPIRED waitlist status for offers whose hold lapsed. The baseline check
+-- constraint on status is unnamed, so the column is rebuilt with a named one.
+
+alter table waitlist_entries add column status_v3 varchar(255);
+update waitlist_entries set status_v3 = status;
+drop index idx_waitlist_entries_status;
+alter table waitlist_entries drop column status;
+alter table waitlist_entries alter column status_v3 rename to status;
+alter table waitlist_entries alter column status set not null;
+alter table waitlist_entries add constraint ck_waitlist_entries_status
+    check (status in ('WAITING','OFFERED','BOOKED','CANCELED','EXPIRED'));
+
+create index idx_waitlist_entries_status
+    on waitlist_entries (status);
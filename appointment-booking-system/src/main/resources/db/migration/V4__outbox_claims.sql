@@ -0,0 +1,4 @@
+-- Relay claims on outbox rows, so relays on several nodes do not publish the same events.
+
+alter table outbox_events add column claimed_by varchar(64);
+alter table outbox_events add column claimed_until timestamp(6);
@@ -0,0 +1,40 @@
+package com.appointment.booking;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on the prod profile against an empty data directory, so Flyway
+ * builds the schema from the migrations and Hibernate validates every entity against it.
+ * An entity change without a matching migration fails the context here.
+ */
+@SpringBootTest
+@ActiveProfiles("prod")
+class ProdProfileStartupTest {
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void storage(DynamicPropertyRegistry registry) {
+        registry.add("storage.data-dir", dataDir::toString);
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void migratesEmptyStoreAndValidatesMappings() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().applied()).isNotEmpty();
+    }
+}
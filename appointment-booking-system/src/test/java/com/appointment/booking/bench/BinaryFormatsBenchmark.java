@@ -0,0 +1,157 @@
+package com.appointment.booking.bench;
+
+import com.appointment.booking.config.IsoJavaTimeModule;
+import com.appointment.booking.dto.ApiResponse;
+import com.appointment.booking.dto.AppointmentDTO;
+import com.appointment.booking.dto.AvailabilityDTO;
+import com.appointment.booking.dto.DoctorDTO;
+import com.appointment.booking.dto.PatientDTO;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of 500-element list responses of each DTO as JSON, CBOR and Smile,
+ * with the mappers built the way BinaryFormatsConfig builds the converters' and the modules
+ * in JacksonConfig installed. The encoded size of each response is printed at setup. Run
+ * with bench/binary-formats.sh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatsBenchmark {
+
+    private static final int COUNT = 500;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"appointment", "availability", "doctor", "patient"})
+    public String dto;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private ApiResponse<? extends List<?>> response;
+    private byte[] encodedResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new BlackbirdModule(), new IsoJavaTimeModule());
+        if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        } else if (format.equals("smile")) {
+            builder.factory(new SmileFactory());
+        }
+        mapper = builder.build();
+
+        Class<?> elementType;
+        List<?> items;
+        switch (dto) {
+            case "appointment" -> {
+                elementType = AppointmentDTO.class;
+                items = SerializationBenchmark.appointments(COUNT);
+            }
+            case "availability" -> {
+                elementType = AvailabilityDTO.class;
+                items = availabilities(COUNT);
+            }
+            case "doctor" -> {
+                elementType = DoctorDTO.class;
+                items = doctors(COUNT);
+            }
+            case "patient" -> {
+                elementType = PatientDTO.class;
+                items = patients(COUNT);
+            }
+            default -> throw new IllegalArgumentException("Unknown dto: " + dto);
+        }
+        listType = mapper.getTypeFactory().constructParametricType(ApiResponse.class,
+                mapper.getTypeFactory().constructCollectionType(List.class, elementType));
+        response = ApiResponse.success("Retrieved " + COUNT + " records", items);
+        encodedResponse = mapper.writeValueAsBytes(response);
+        System.out.printf("%n%s %s x%d: %,d bytes%n", format, dto, COUNT, encodedResponse.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return mapper.readValue(encodedResponse, listType);
+    }
+
+    static List<AvailabilityDTO> availabilities(int count) {
+        List<AvailabilityDTO> availabilities = new ArrayList<>(count);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 19, 9, 12, 4, 118_230_000);
+        for (int i = 0; i < count; i++) {
+            AvailabilityDTO availability = new AvailabilityDTO();
+            availability.setId((long) i);
+            availability.setDoctorId((long) (i % 20));
+            availability.setDoctorName("Dr. Smith " + i % 20);
+            availability.setDate(LocalDate.of(2026, 10, 20).plusDays(i / 10));
+            availability.setStartTime(LocalTime.of(8 + i % 10, 0));
+            availability.setEndTime(LocalTime.of(8 + i % 10, 30));
+            availability.setIsAvailable(i % 3 != 0);
+            availability.setCreatedAt(createdAt.plusSeconds(i));
+            availability.setUpdatedAt(createdAt.plusMinutes(i));
+            availabilities.add(availability);
+        }
+        return availabilities;
+    }
+
+    static List<DoctorDTO> doctors(int count) {
+        String[] specializations = {"Cardiology", "Dermatology", "Neurology", "Pediatrics", "Orthopedics"};
+        List<DoctorDTO> doctors = new ArrayList<>(count);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 2, 11, 40, 17, 902_114_000);
+        for (int i = 0; i < count; i++) {
+            DoctorDTO doctor = new DoctorDTO("Dr. Doctor " + i, specializations[i % specializations.length]);
+            doctor.setId((long) i);
+            doctor.setCreatedAt(createdAt.plusHours(i));
+            doctor.setUpdatedAt(createdAt.plusHours(i).plusMinutes(5));
+            doctors.add(doctor);
+        }
+        return doctors;
+    }
+
+    static List<PatientDTO> patients(int count) {
+        List<PatientDTO> patients = new ArrayList<>(count);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 5, 14, 16, 3, 45, 660_021_000);
+        for (int i = 0; i < count; i++) {
+            PatientDTO patient = new PatientDTO("Patient " + i, "patient" + i + "@example.com",
+                    "98765" + String.format("%05d", i));
+            patient.setId((long) i);
+            patient.setCreatedAt(createdAt.plusMinutes(i));
+            patient.setUpdatedAt(createdAt.plusMinutes(i).plusSeconds(30));
+            patients.add(patient);
+        }
+        return patients;
+    }
+}
@@ -0,0 +1,112 @@
+package com.appointment.booking.bench;
+
+import com.appointment.booking.config.IsoJavaTimeModule;
+import com.appointment.booking.dto.ApiResponse;
+import com.appointment.booking.dto.AppointmentDTO;
+import com.appointment.booking.dto.AppointmentRequest;
+import com.appointment.booking.entity.Appointment.AppointmentStatus;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the appointment list response and the booking request, with the mapper
+ * configured as Boot configures the application's and each combination of the modules in
+ * JacksonConfig. Run with bench/serialization.sh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final byte[] REQUEST = ("{\"patientId\":1,\"doctorId\":2,\"availabilityId\":3,"
+            + "\"date\":\"2026-10-20\",\"notes\":\"Follow-up visit\"}").getBytes();
+
+    @Param({"stock", "blackbird", "iso-time", "blackbird+iso-time"})
+    public String modules;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private ApiResponse<List<AppointmentDTO>> response;
+    private byte[] encodedResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        List<Module> installed = new ArrayList<>();
+        if (modules.contains("blackbird")) {
+            installed.add(new BlackbirdModule());
+        }
+        if (modules.contains("iso-time")) {
+            installed.add(new IsoJavaTimeModule());
+        }
+        mapper = builder.modulesToInstall(installed.toArray(new Module[0])).build();
+        listType = mapper.getTypeFactory().constructParametricType(ApiResponse.class,
+                mapper.getTypeFactory().constructCollectionType(List.class, AppointmentDTO.class));
+        response = ApiResponse.success("Retrieved 500 appointments", appointments(500));
+        encodedResponse = mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodeList() throws Exception {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Object decodeList() throws Exception {
+        return mapper.readValue(encodedResponse, listType);
+    }
+
+    @Benchmark
+    public AppointmentRequest decodeRequest() throws Exception {
+        return mapper.readValue(REQUEST, AppointmentRequest.class);
+    }
+
+    static List<AppointmentDTO> appointments(int count) {
+        List<AppointmentDTO> appointments = new ArrayList<>(count);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 19, 14, 31, 52, 357_501_000);
+        for (int i = 0; i < count; i++) {
+            AppointmentDTO appointment = new AppointmentDTO();
+            appointment.setId((long) i);
+            appointment.setPatientId((long) (i % 40));
+            appointment.setPatientName("Patient " + i % 40);
+            appointment.setPatientEmail("p" + i % 40 + "@example.com");
+            appointment.setPatientPhone("98765432" + (10 + i % 40));
+            appointment.setDoctorId(1L);
+            appointment.setDoctorName("Dr. Smith");
+            appointment.setDoctorSpecialization("Cardiology");
+            appointment.setAvailabilityId((long) i);
+            appointment.setDate(LocalDate.of(2026, 10, 20).plusDays(i / 10));
+            appointment.setStartTime(LocalTime.of(8 + i % 10, 0));
+            appointment.setEndTime(LocalTime.of(8 + i % 10, 30));
+            appointment.setStatus(AppointmentStatus.BOOKED);
+            appointment.setCreatedAt(createdAt.plusSeconds(i));
+            appointments.add(appointment);
+        }
+        return appointments;
+    }
+}
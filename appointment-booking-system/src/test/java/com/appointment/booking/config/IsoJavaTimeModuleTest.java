@@ -0,0 +1,101 @@
+package com.appointment.booking.config;
+
+import com.appointment.booking.dto.ApiResponse;
+import com.appointment.booking.dto.AppointmentDTO;
+import com.appointment.booking.dto.SlotDTO;
+import com.appointment.booking.dto.SlotHoldDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The hand-written java.time output must be byte-for-byte what the stock jsr310
+ * serializers write, for the ISO defaults as well as every @JsonFormat pattern in the DTOs.
+ */
+class IsoJavaTimeModuleTest {
+
+    private final ObjectMapper stock = mapper(false);
+    private final ObjectMapper fast = mapper(true);
+
+    @Test
+    void writesBareValuesLikeJsr310() throws Exception {
+        Random random = new Random(42);
+        List<Object> values = new ArrayList<>(List.of(
+                LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31), LocalDate.of(0, 6, 1), LocalDate.of(10000, 1, 1),
+                LocalDate.of(-44, 3, 15), LocalTime.MIDNIGHT, LocalTime.MAX, LocalTime.of(8, 0, 0, 500_000_000),
+                LocalTime.of(23, 59, 59, 1), LocalDateTime.of(2026, 10, 19, 14, 31, 52, 357_501_000),
+                LocalDateTime.of(10000, 1, 1, 0, 0)));
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate date = LocalDate.ofEpochDay(random.nextInt(3_000_000) - 700_000);
+            LocalTime time = LocalTime.ofNanoOfDay(Math.floorMod(random.nextLong(), 86_400_000_000_000L));
+            LocalTime truncated = time.withNano(time.getNano() / 1_000_000 * 1_000_000);
+            values.add(date);
+            values.add(time);
+            values.add(truncated);
+            values.add(LocalDateTime.of(date, time));
+            values.add(LocalDateTime.of(date, truncated));
+        }
+        for (Object value : values) {
+            Assertions.assertThat(fast.writeValueAsString(value)).as("%s", value).isEqualTo(stock.writeValueAsString(value));
+        }
+    }
+
+    @Test
+    void honoursDtoFormatPatterns() throws Exception {
+        AppointmentDTO appointment = new AppointmentDTO();
+        appointment.setDate(LocalDate.of(2026, 10, 20));
+        appointment.setStartTime(LocalTime.of(9, 30));
+        appointment.setEndTime(LocalTime.of(10, 0, 15));
+        appointment.setCreatedAt(LocalDateTime.of(2026, 10, 19, 8, 5, 3, 120_000_000));
+        SlotHoldDTO hold = new SlotHoldDTO();
+        hold.setDate(LocalDate.of(2026, 10, 20));
+        hold.setStartTime(LocalTime.of(9, 30, 45));
+        hold.setEndTime(LocalTime.of(10, 0));
+        hold.setExpiresAt(LocalDateTime.of(2026, 10, 19, 8, 20, 7, 999_999_999));
+        SlotDTO slot = new SlotDTO();
+        slot.setStartTime(LocalTime.of(7, 5, 9));
+        slot.setEndTime(LocalTime.of(7, 35));
+
+        for (Object dto : List.of(appointment, hold, slot, ApiResponse.success("ok", List.of(appointment)))) {
+            Assertions.assertThat(fast.writeValueAsString(dto)).isEqualTo(stock.writeValueAsString(dto));
+        }
+    }
+
+    @Test
+    void handWritesEveryDtoPattern() {
+        for (String pattern : List.of("yyyy-MM-dd", "HH:mm", "HH:mm:ss", "yyyy-MM-dd HH:mm:ss")) {
+            Assertions.assertThat(IsoJavaTimeModule.layoutOf(DateTimeFormatter.ofPattern(pattern), null,
+                    EnumSet.allOf(IsoJavaTimeModule.Layout.class))).as(pattern).isNotNull();
+        }
+    }
+
+    @Test
+    void leavesTimestampOutputToJsr310() throws Exception {
+        ObjectMapper stockTimestamps = stock.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper fastTimestamps = fast.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        LocalDateTime value = LocalDateTime.of(2026, 10, 19, 8, 5, 3, 120_000_000);
+
+        Assertions.assertThat(fastTimestamps.writeValueAsString(value)).isEqualTo(stockTimestamps.writeValueAsString(value));
+        Assertions.assertThat(fastTimestamps.writeValueAsString(value.toLocalTime())).isEqualTo(stockTimestamps.writeValueAsString(value.toLocalTime()));
+    }
+
+    // Configured as Boot configures the application's mapper
+    private static ObjectMapper mapper(boolean withModule) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (withModule) {
+            builder.modulesToInstall(new IsoJavaTimeModule());
+        }
+        return builder.build();
+    }
+}